@@ -0,0 +1,71 @@
+package cas.se3xa3.bitsplease.benchmark;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.model.checker.BoardChecker;
+import cas.se3xa3.bitsplease.model.checker.IncrementalBoardChecker;
+import cas.se3xa3.bitsplease.model.checker.Result;
+import cas.se3xa3.bitsplease.model.checker.SimpleRules;
+import cas.se3xa3.bitsplease.model.generator.SolvedBoardGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 17/10/2026.
+ * Measures the checkers on a solved board and on the same board with one tile changed,
+ * which is what a player's move looks like.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CheckerBenchmark {
+    @Param({"4", "6", "8", "10", "12"})
+    private int size;
+
+    private Board solved;
+    private Board moved;
+    private BoardChecker solvedChecker;
+    private BoardChecker movedChecker;
+    private IncrementalBoardChecker incrementalChecker;
+
+    @Setup
+    public void setUp() {
+        solved = new SolvedBoardGenerator(size).generateBoard(Seeds.SEEDS[0]);
+        moved = solved.copy();
+        moved.stepTileAt(size / 2, size / 2);
+        solvedChecker = new BoardChecker(solved);
+        movedChecker = new BoardChecker(moved);
+        incrementalChecker = new IncrementalBoardChecker(moved);
+    }
+
+    @Benchmark
+    public Result isSolved() {
+        return solvedChecker.isSolved();
+    }
+
+    @Benchmark
+    public Result isValidAfterMove() {
+        return movedChecker.isValid();
+    }
+
+    @Benchmark
+    public Result incrementalIsValidAfterMove() {
+        //Move the tile through all three states so the board ends where it started
+        for (Tile ignored : Tile.values()) {
+            moved.stepTileAt(size / 2, size / 2);
+            incrementalChecker.refresh();
+        }
+        return incrementalChecker.isValid();
+    }
+
+    @Benchmark
+    public boolean simpleRules() {
+        return SimpleRules.EQUAL_BLUE_AND_RED.holds(solved)
+                && SimpleRules.NO_THREE_IN_A_ROW.holds(solved)
+                && SimpleRules.NO_IDENTICAL_ROWS_OR_COLUMNS.holds(solved);
+    }
+}
@@ -0,0 +1,37 @@
+package cas.se3xa3.bitsplease.benchmark;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 17/10/2026.
+ * Measures {@link BoardGenerator#generate(int, long)}. Every run cycles through the
+ * same {@link Seeds#SEEDS} so results can be compared between commits.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GeneratorBenchmark {
+    @Param({"4", "6", "8", "10", "12", "32", "64"})
+    private int size;
+
+    private BoardGenerator generator;
+    private Seeds seeds;
+
+    @Setup
+    public void setUp() {
+        generator = new BoardGenerator();
+        seeds = new Seeds();
+    }
+
+    @Benchmark
+    public Board generate() {
+        return generator.generate(size, seeds.next());
+    }
+}
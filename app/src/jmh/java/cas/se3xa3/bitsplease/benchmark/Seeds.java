@@ -0,0 +1,21 @@
+package cas.se3xa3.bitsplease.benchmark;
+
+/**
+ * Created on 17/10/2026.
+ * The fixed seeds every benchmark draws its boards from.
+ */
+class Seeds {
+    static final long[] SEEDS = {
+            1L, 2L, 3L, 5L, 8L, 13L, 21L, 34L, 55L, 89L, 144L, 233L, 377L, 610L, 987L, 1597L
+    };
+
+    private int next;
+
+    /**
+     * @return the next seed, starting over after the last one.
+     */
+    long next() {
+        next = (next + 1) % SEEDS.length;
+        return SEEDS[next];
+    }
+}
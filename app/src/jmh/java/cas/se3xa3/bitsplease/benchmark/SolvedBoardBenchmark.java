@@ -0,0 +1,37 @@
+package cas.se3xa3.bitsplease.benchmark;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.generator.SolvedBoardGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 17/10/2026.
+ * Measures {@link SolvedBoardGenerator#generateBoard(long)}, which accepts larger sizes
+ * than the puzzle generator.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolvedBoardBenchmark {
+    @Param({"4", "6", "8", "10", "12", "14", "16", "18", "20", "32", "48", "64"})
+    private int size;
+
+    private SolvedBoardGenerator generator;
+    private Seeds seeds;
+
+    @Setup
+    public void setUp() {
+        generator = new SolvedBoardGenerator(size);
+        seeds = new Seeds();
+    }
+
+    @Benchmark
+    public Board generateBoard() {
+        return generator.generateBoard(seeds.next());
+    }
+}
@@ -0,0 +1,66 @@
+package cas.se3xa3.bitsplease.benchmark;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import cas.se3xa3.bitsplease.model.solver.BoardSolver;
+import cas.se3xa3.bitsplease.model.solver.ConstraintSolver;
+import cas.se3xa3.bitsplease.model.solver.Solution;
+import cas.se3xa3.bitsplease.model.solver.SolutionCounter;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created on 17/10/2026.
+ * Measures the solvers on a fixed set of generated puzzles. {@link BoardSolver#tryToSolve()}
+ * and {@link BoardSolver#propagateAll()} change their board so it works on a fresh copy every time, the cost of the copy is included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+    @Param({"4", "6", "8", "10", "12"})
+    private int size;
+
+    private Board[] puzzles;
+    private ConstraintSolver constraintSolver;
+    private SolutionCounter solutionCounter;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        BoardGenerator generator = new BoardGenerator();
+        puzzles = new Board[Seeds.SEEDS.length];
+        for (int i = 0; i < puzzles.length; i++) puzzles[i] = generator.generate(size, Seeds.SEEDS[i]);
+        constraintSolver = new ConstraintSolver(size);
+        solutionCounter = new SolutionCounter(size);
+    }
+
+    private Board nextPuzzle() {
+        next = (next + 1) % puzzles.length;
+        return puzzles[next];
+    }
+
+    @Benchmark
+    public boolean tryToSolve() {
+        return new BoardSolver(nextPuzzle().copy()).tryToSolve();
+    }
+
+    @Benchmark
+    public int[] propagateAll() {
+        return new BoardSolver(nextPuzzle().copy()).propagateAll();
+    }
+
+    @Benchmark
+    public Solution constraintSolve() {
+        return constraintSolver.solve(nextPuzzle());
+    }
+
+    @Benchmark
+    public int countSolutions() {
+        return solutionCounter.countSolutions(nextPuzzle(), 2);
+    }
+}
@@ -0,0 +1,148 @@
+package cas.se3xa3.bitsplease.controller;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import cas.se3xa3.bitsplease.model.generator.PuzzleId;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Created on 17/10/2026.
+ * Generates puzzles from the command line without opening a window.
+ * <pre>
+ * java -cp 0hh1.jar cas.se3xa3.bitsplease.controller.BatchGenerator -n 100 -s 6,8,10 [-t threads] [--seed seed] [-o file]
+ * </pre>
+ * Generates {@code n} puzzles of every size and writes them as they are completed, one per line,
+ * as the puzzle id followed by every row, for example {@code 4-5x3g8wbbzqmi eeRe Beee eBee Reer}.
+ * See {@link PuzzleId} and {@link Board#getSerializedRow(int)}. Only a few puzzles per
+ * thread are held in memory at any time no matter how many are requested. Throughput is reported
+ * on standard error.
+ */
+public class BatchGenerator {
+    private static final String USAGE = "Usage: BatchGenerator -n <count> -s <size>[,<size>...] [-t <threads>] [--seed <seed>] [-o <file>]";
+
+    //Puzzles each thread may have waiting to be written
+    private static final int IN_FLIGHT_PER_THREAD = 2;
+
+    //Generators are not thread safe so each thread gets its own
+    private static final ThreadLocal<BoardGenerator> GENERATOR = ThreadLocal.withInitial(BoardGenerator::new);
+
+    private final int count;
+    private final int[] sizes;
+    private final int threads;
+    private final SplittableRandom seeds;
+
+    /**
+     * @param count the number of puzzles to generate of every size.
+     * @param sizes the sizes of the puzzles.
+     * @param threads the number of threads generating puzzles.
+     * @param seed the seed all puzzle seeds are drawn from.
+     * @throws IllegalArgumentException if count < 0, threads < 1 or one of the sizes
+     * is not accepted by {@link BoardGenerator#isAcceptedSize(int)}.
+     */
+    public BatchGenerator(int count, int[] sizes, int threads, long seed) {
+        if (count < 0) throw new IllegalArgumentException("count must be >= 0 but was "+count);
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1 but was "+threads);
+        for (int size : sizes) {
+            if (!GENERATOR.get().isAcceptedSize(size)) throw new IllegalArgumentException("Invalid size. " + size);
+        }
+        this.count = count;
+        this.sizes = sizes.clone();
+        this.threads = threads;
+        this.seeds = new SplittableRandom(seed);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        System.setProperty("java.awt.headless", "true");
+        int count = -1;
+        int[] sizes = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long seed = System.currentTimeMillis();
+        String output = null;
+        BatchGenerator generator;
+        try {
+            for (int arg = 0; arg < args.length; arg++) {
+                switch (args[arg]) {
+                    case "-n": count = Integer.parseInt(args[++arg]); break;
+                    case "-s": sizes = Arrays.stream(args[++arg].split(",")).mapToInt(Integer::parseInt).toArray(); break;
+                    case "-t": threads = Integer.parseInt(args[++arg]); break;
+                    case "--seed": seed = Long.parseLong(args[++arg]); break;
+                    case "-o": output = args[++arg]; break;
+                    default: throw new IllegalArgumentException("Unknown option " + args[arg]);
+                }
+            }
+            if (count < 0 || sizes == null) throw new IllegalArgumentException("-n and -s are required");
+            generator = new BatchGenerator(count, sizes, threads, seed);
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            System.err.println(e.getMessage() == null ? USAGE : e.getMessage() + "\n" + USAGE);
+            System.exit(2);
+            return;
+        }
+        OutputStream out = output == null ? System.out : new FileOutputStream(output);
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8))) {
+            long start = System.nanoTime();
+            long written = generator.run(writer);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.printf("Generated %d puzzles in %.2fs (%.1f puzzles/s) on %d threads%n",
+                    written, seconds, written / seconds, threads);
+        }
+    }
+
+    /**
+     * Generate every puzzle and write them to {@code writer} in the order they are completed.
+     * The writer is flushed whenever the next puzzle isn't ready yet, so puzzles reach the
+     * output as they are generated even on a long batch.
+     * @param writer where the puzzles are written, one per line.
+     * @return the number of puzzles written.
+     * @throws IOException if writing fails.
+     * @throws InterruptedException if interrupted while waiting for a puzzle.
+     */
+    public long run(Writer writer) throws IOException, InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "Batch generator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        CompletionService<String> completed = new ExecutorCompletionService<>(executor);
+        long total = (long) count * sizes.length;
+        long submitted = 0;
+        long written = 0;
+        try {
+            while (written < total) {
+                //Keep a bounded number of puzzles in flight
+                while (submitted < total && submitted - written < (long) threads * IN_FLIGHT_PER_THREAD) {
+                    PuzzleId id = new PuzzleId(sizes[(int) (submitted % sizes.length)], seeds.nextLong());
+                    completed.submit(() -> toRecord(id, GENERATOR.get().generate(id)));
+                    submitted++;
+                }
+                Future<String> next = completed.poll();
+                if (next == null) {
+                    //Nothing else is ready, hand over what was written before waiting
+                    writer.flush();
+                    next = completed.take();
+                }
+                writer.write(next.get());
+                writer.write('\n');
+                written++;
+            }
+            writer.flush();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to generate a puzzle", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return written;
+    }
+
+    /**
+     * @return the puzzle id followed by every row of {@code board}, separated by spaces.
+     */
+    private static String toRecord(PuzzleId id, Board board) {
+        StringBuilder record = new StringBuilder(id.toString());
+        for (int row = 0; row < board.getSize(); row++) record.append(' ').append(board.getSerializedRow(row));
+        return record.toString();
+    }
+}
@@ -1,64 +1,209 @@
 package cas.se3xa3.bitsplease.controller;
 
 import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.GsonWrapper;
+import cas.se3xa3.bitsplease.model.MoveJournal;
+import cas.se3xa3.bitsplease.model.SavedSession;
+import cas.se3xa3.bitsplease.model.Tile;
 import cas.se3xa3.bitsplease.model.Timer;
 import cas.se3xa3.bitsplease.model.checker.BoardChecker;
-import cas.se3xa3.bitsplease.model.checker.Result;
 import cas.se3xa3.bitsplease.model.checker.SimpleRules;
-import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
-import cas.se3xa3.bitsplease.model.solver.BoardSolver;
-import cas.se3xa3.bitsplease.model.solver.Hint;
+import cas.se3xa3.bitsplease.model.generator.PuzzlePool;
 import cas.se3xa3.bitsplease.view.BoardView;
 import cas.se3xa3.bitsplease.view.GameBoard;
+import com.google.gson.JsonIOException;
 
+import javax.swing.*;
 import java.awt.*;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Created on 11/11/2015.
  */
 public class GameSession implements TileClickedListener {
-    private BoardGenerator generator;
+    //Where the game in progress is saved, a single game is kept
+    private static final Path SAVE_FILE = Paths.get(System.getProperty("user.home"), ".0hh1-save.json");
+    private static final GsonWrapper GSON = new GsonWrapper(false);
+
+    /**
+     * The pool shared by every session, created with the first session that uses it.
+     * Going back to the menu makes a new session, the puzzles made so far are kept.
+     */
+    private static class SharedPuzzles {
+        private static final PuzzlePool POOL = new PuzzlePool(4, 6, 8, 10, 12);
+    }
+
+    private final PuzzlePool puzzles;
+    //Only a pool given to the session is shut down with it
+    private final boolean ownsPuzzles;
+    private boolean stop = false;
     private Timer timer;
     private Board board;
     private GameBoard gameBoard;
     private BoardView boardView;
     private Validator validator;
-    private BoardSolver solver;
+    private HintService hints;
+    private MoveJournal journal;
 
+    /**
+     * Create a session taking its puzzles from the pool shared by every session.
+     */
     public GameSession() {
-        generator = new BoardGenerator();
+        this(SharedPuzzles.POOL, false);
+    }
+
+    /**
+     * Create a session taking its puzzles from {@code puzzles}.
+     * @param puzzles the pool of the session, shut down along with it by {@link #shutdown()}.
+     */
+    public GameSession(PuzzlePool puzzles) {
+        this(puzzles, true);
+    }
+
+    private GameSession(PuzzlePool puzzles, boolean ownsPuzzles) {
+        this.puzzles = puzzles;
+        this.ownsPuzzles = ownsPuzzles;
         timer = new Timer();
+        journal = new MoveJournal();
     }
 
     /**
-     * Start a new game.
+     * Start a new game. The puzzle is taken from the pool in the background because a
+     * size the pool doesn't keep, or has run out of, is generated on the spot and large
+     * boards take a while. The game only starts once the puzzle is ready.
      * @param size the size of the board in this new game.
+     * @param onStart run on the awt thread once the game has started, see {@link #getView()}.
      */
-    public void startNewGame(int size) {
+    public void startNewGame(int size, Runnable onStart) {
+        new SwingWorker<Board, Void>() {
+            @Override
+            protected Board doInBackground() {
+                return puzzles.take(size);
+            }
+
+            @Override
+            protected void done() {
+                //The player left before the puzzle was ready
+                if (stop) return;
+                try {
+                    startGame(get(), 0);
+                } catch (InterruptedException | ExecutionException e) {
+                    throw new IllegalStateException("Could not generate a puzzle of size "+size, e);
+                }
+                onStart.run();
+            }
+        }.execute();
+    }
+
+    /**
+     * Carry on with a saved game.
+     * @param session the saved game, its board is played on directly.
+     */
+    public void resumeGame(SavedSession session) {
+        startGame(session.getBoard(), session.getElapsedMillis());
+    }
+
+    /**
+     * @return true if there is a saved game to carry on with, see {@link #resumeSavedGame()}.
+     */
+    public boolean hasSavedGame() {
+        return Files.isRegularFile(SAVE_FILE);
+    }
+
+    /**
+     * Carry on with the game saved last by pressing Ctrl+S.
+     * @throws IOException if the saved game can't be read.
+     * @throws com.google.gson.JsonParseException if the saved game is malformed.
+     */
+    public void resumeSavedGame() throws IOException {
+        try (Reader reader = Files.newBufferedReader(SAVE_FILE)) {
+            resumeGame(GSON.readSession(reader));
+        }
+    }
+
+    /**
+     * Save the game in progress. The moves made so far can't be undone once resumed.
+     * @return the saved game, or null if no game was started.
+     */
+    public SavedSession saveGame() {
+        if (board == null) return null;
+        return new SavedSession(board.copy(), timer.getElapsedTime());
+    }
+
+    /**
+     * End the session, stopping the checks and hints of the game in progress and the
+     * pool of the session if it was given one. Once shutdown the instance cannot be restarted.
+     */
+    public void shutdown() {
+        stop = true;
+        stopGame();
+        if (ownsPuzzles) puzzles.shutdown();
+    }
+
+    private void stopGame() {
         if (validator != null) validator.shutdown();
-        board = generator.generate(size);
+        if (hints != null) hints.shutdown();
+    }
+
+    private void startGame(Board board, long elapsedMillis) {
+        stopGame();
+        this.board = board;
         gameBoard = new GameBoard(board);
-        timer.restart();
+        timer.restart(elapsedMillis);
         boardView = gameBoard.boardView();
         boardView.setBackground(Color.DARK_GRAY.darker().darker());
         boardView.addTileClickedListener(this);
-        solver = new BoardSolver(board);
-        gameBoard.addHintButtonListener(pressEvent -> {
-            //Make sure we aren't passing an invalid board to the solver
-            if (validator.isValid().getResultState() != Result.State.SATISFIES) return;
-            Hint hint = solver.requestHint();
+        hints = new HintService(board);
+        journal.clear();
+        gameBoard.addExitButtonListener(pressEvent -> shutdown());
+        gameBoard.addResetButtonListener(pressEvent -> {
+            journal.clear();
+            hints.prefetch();
+        });
+        gameBoard.addUndoListener(pressEvent -> {
+            //The board is locked once solved
+            if (!validator.isSolved()) applyMove(journal.undo(board));
+        });
+        gameBoard.addRedoListener(pressEvent -> {
+            if (!validator.isSolved()) applyMove(journal.redo(board));
+        });
+        gameBoard.addSaveListener(pressEvent -> {
+            //A solved board is locked, there is nothing left to carry on with
+            if (validator.isSolved()) return;
+            try (Writer writer = Files.newBufferedWriter(SAVE_FILE)) {
+                GSON.writeSession(saveGame(), writer);
+                gameBoard.setMessage("Game saved");
+            } catch (IOException | JsonIOException e) {
+                gameBoard.setMessage("The game could not be saved");
+            }
+        });
+        gameBoard.addHintButtonListener(pressEvent -> hints.requestHint(hint -> {
+            //There is no hint for a board that breaks a rule
+            if (hint == null) return;
             gameBoard.setMessage(hint.getExplanation());
             if (hint.getTilesInvolved() != null)
                 boardView.setHighlights(hint.getTilesInvolved());
-        });
+        }));
         validator = new Validator(board, gameBoard, this::onSolve);
         validator.start();
+        hints.prefetch();
     }
 
     public GameBoard getView() {
         return this.gameBoard;
     }
 
+    //For tests, the hints of the game in progress
+    HintService getHints() {
+        return hints;
+    }
+
     @Override
     public void onTileClick(int row, int col) {
         //The board is already solved
@@ -66,23 +211,39 @@ public class GameSession implements TileClickedListener {
 
         if (!board.isLocked(row, col)) {
             //The clicked tile can be changed
-            board.stepTileAt(row, col);
-            //Clear any existing highlights because the board has changed
-            boardView.clearHighlights();
-            gameBoard.resetMessage();
-            //We want to mark the stop before the delayed check. If a win occurs
-            //the end time will be now, not in the future.
-            timer.markStop();
-            //Request a validation check in the near future
-            validator.schedule();
-            //Update the view with the new state
-            boardView.update();
+            Tile oldState = board.getTileAt(row, col);
+            journal.record(row, col, oldState, board.stepTileAt(row, col));
+            tileChanged(row, col);
         } else {
             //The clicked tile cannot be changed
             boardView.toggleDisplayLocked();
         }
     }
 
+    /**
+     * Show a move undone or redone by the journal.
+     * @param move the move or {@link MoveJournal#NO_MOVE} if there was nothing to do.
+     */
+    private void applyMove(int move) {
+        if (move == MoveJournal.NO_MOVE) return;
+        tileChanged(MoveJournal.getRow(move), MoveJournal.getColumn(move));
+    }
+
+    private void tileChanged(int row, int col) {
+        //Clear any existing highlights because the board has changed
+        boardView.clearHighlights();
+        gameBoard.resetMessage();
+        //We want to mark the stop before the delayed check. If a win occurs
+        //the end time will be now, not in the future.
+        timer.markStop();
+        //Request a validation check in the near future
+        validator.schedule();
+        //Look for the next hint while the player thinks
+        hints.prefetch();
+        //Update the view with the new state of the tile
+        boardView.update(row, col);
+    }
+
     private void onSolve() {
         //Lock the board and clean the surface
         board.setAllLocks(true);
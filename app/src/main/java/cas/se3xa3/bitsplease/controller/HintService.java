@@ -0,0 +1,131 @@
+package cas.se3xa3.bitsplease.controller;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.checker.IncrementalBoardChecker;
+import cas.se3xa3.bitsplease.model.checker.Result;
+import cas.se3xa3.bitsplease.model.solver.BoardSolver;
+import cas.se3xa3.bitsplease.model.solver.Hint;
+
+import javax.swing.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Created on 17/10/2026.
+ * Finds the next hint for a board in the background so asking for one doesn't hold up
+ * the awt thread. Call {@link #prefetch()} after every move to start looking for the hint
+ * of the new board, a search for an older board is cancelled or its result dropped.<br>
+ * The last hint found is kept along with the {@link Board#getVersion()} it was found for,
+ * so a hint is only ever searched for once per version of the board. Like the
+ * {@link Validator}, searches work on a snapshot of the board taken on the awt thread,
+ * run on a single thread shared by every service and hand their result back to the
+ * awt thread. Every method must be called on the awt thread.
+ */
+public class HintService {
+    private static final ExecutorService WORKER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "Hint finder");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final long NO_VERSION = -1;
+
+    private final Board board;
+    //Only used by the worker, the searches work on their own copy of the board
+    private final Board hintBoard;
+    private final IncrementalBoardChecker checker;
+    private final BoardSolver solver;
+
+    private long cachedVersion = NO_VERSION;
+    private Hint cachedHint;
+    private long pendingVersion = NO_VERSION;
+    private Future<?> pending;
+    private Consumer<Hint> waiting;
+    //Lets queued searches for an older board skip the work
+    private volatile long latestVersion = NO_VERSION;
+    private boolean stop = false;
+
+    /**
+     * @param board the board being played.
+     */
+    public HintService(Board board) {
+        this.board = board;
+        this.hintBoard = new Board(board.getSize());
+        this.checker = new IncrementalBoardChecker(hintBoard);
+        this.solver = new BoardSolver(hintBoard);
+    }
+
+    /**
+     * Start looking for the hint of the board as it is now, unless it is already known
+     * or being looked for. A search for an older board is cancelled.
+     */
+    public void prefetch() {
+        long version = board.getVersion();
+        if (stop || version == cachedVersion || version == pendingVersion) return;
+        if (pending != null) pending.cancel(false);
+        //Whoever was waiting asked about a board that has changed since
+        waiting = null;
+        Board snapshot = board.copy();
+        pendingVersion = version;
+        latestVersion = version;
+        pending = WORKER.submit(() -> find(snapshot));
+    }
+
+    /**
+     * Hand over the hint for the board as it is now. This is immediate if the hint was
+     * prefetched, otherwise {@code action} runs once the hint is found unless the board
+     * changes first.
+     * @param action given the hint, or null if the board breaks a rule and there is no hint.
+     */
+    public void requestHint(Consumer<Hint> action) {
+        if (stop) return;
+        if (board.getVersion() == cachedVersion) {
+            action.accept(cachedHint);
+            return;
+        }
+        prefetch();
+        waiting = action;
+    }
+
+    /**
+     * @return true if the hint for the board as it is now is known.
+     */
+    boolean hasHint() {
+        return !stop && board.getVersion() == cachedVersion;
+    }
+
+    private void find(Board snapshot) {
+        if (snapshot.getVersion() != latestVersion) return;
+        snapshot.copyInto(hintBoard);
+        checker.refresh();
+        //Make sure we aren't passing an invalid board to the solver
+        Hint hint = checker.isValid().getResultState() == Result.State.SATISFIES ? solver.requestHint() : null;
+        SwingUtilities.invokeLater(() -> publish(snapshot.getVersion(), hint));
+    }
+
+    /**
+     * Keep a hint that was found. Runs on the awt thread.
+     */
+    private void publish(long version, Hint hint) {
+        //The board changed while the search ran, a newer search was started
+        if (stop || version != pendingVersion) return;
+        cachedVersion = version;
+        cachedHint = hint;
+        pendingVersion = NO_VERSION;
+        pending = null;
+        Consumer<Hint> action = waiting;
+        waiting = null;
+        if (action != null) action.accept(hint);
+    }
+
+    /**
+     * Stop looking for hints. Once shutdown the instance cannot be restarted.
+     */
+    public void shutdown() {
+        stop = true;
+        waiting = null;
+        latestVersion = NO_VERSION;
+        if (pending != null) pending.cancel(false);
+    }
+}
@@ -1,33 +1,51 @@
 package cas.se3xa3.bitsplease.controller;
 
 import cas.se3xa3.bitsplease.model.Board;
-import cas.se3xa3.bitsplease.model.checker.BoardChecker;
+import cas.se3xa3.bitsplease.model.checker.IncrementalBoardChecker;
 import cas.se3xa3.bitsplease.model.checker.Result;
 import cas.se3xa3.bitsplease.view.BoardView;
 import cas.se3xa3.bitsplease.view.GameBoard;
 
 import javax.swing.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A board checker that updates the given view accordingly. It's
  * main function is to allow for a delayed execution. This function
  * is useful in giving the user a buffer of {@link #DELAY}ms before
- * to finish their tile update before running the check.
+ * to finish their tile update before running the check.<br>
+ * Checks are timed by a single thread shared by every validator and run
+ * by another, so a slow check never holds up the timing of the others.
+ * Each validator has at most one check waiting at a time.
+ * A check works on a snapshot of the board taken on the awt thread and
+ * only its result is handed back. Results for a board that has changed
+ * since the snapshot are dropped.
  * Created on 11/11/2015.
  */
-public class Validator extends Thread {
+public class Validator {
     public static final long DELAY = 500L;
-    public static final long PRECISION = 100L;
 
-    private static final long NO_SCHEDULE = -1L;
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+    private static final ExecutorService CHECKER = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "Board validator");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     private final Board board;
     private GameBoard view;
-    private final BoardChecker checker;
+    //The checker works on its own copy of the board, updated from the snapshots
+    private final Board checkedBoard;
+    private final IncrementalBoardChecker checker;
     private Runnable callback;
-    private volatile long scheduledExecTime = 0;
-    private boolean stop = false;
-    private boolean isSolved = false;
+    private ScheduledFuture<?> scheduledCheck;
+    private volatile boolean stop = false;
+    private volatile boolean isSolved = false;
 
     /**
      * Create a new validator for the given board and it's
@@ -37,63 +55,79 @@ public class Validator extends Thread {
      * @param runOnSolved a callback to be run when the board is solved.
      */
     public Validator(Board board, GameBoard view, Runnable runOnSolved) {
-        super("Board validator");
         this.board = board;
         this.view = view;
         this.callback = runOnSolved;
-        this.checker = new BoardChecker(board);
-        this.scheduledExecTime = System.currentTimeMillis();
+        this.checkedBoard = new Board(board.getSize());
+        this.checker = new IncrementalBoardChecker(checkedBoard);
     }
 
-    @Override
-    public void run() {
-        Runnable check = () -> {
-            synchronized (board) {
-                if (!board.isFull()) {
-                    Result result;
-                    synchronized (checker) {
-                        result = checker.isValid();
-                    }
-                    if (result.getResultState() == Result.State.VIOLATES) {
-                        view.boardView().setHighlights(result.getErrorCoords());
-                        view.setMessage(result.getMessage());
-                    }
-                } else {
-                    Result result;
-                    synchronized (checker) {
-                        result = checker.isSolved();
-                    }
-                    if (result.getResultState() == Result.State.VIOLATES) {
-                        //Nope, guess not
-                        view.boardView().setHighlights(result.getErrorCoords());
-                        view.setMessage(result.getMessage());
-                    } else {
-                        //Run the callback and complete the service
-                        callback.run();
-                        isSolved = true;
-                    }
-                }
-            }
-        };
-        while (!stop && !isSolved) {
-            if (scheduledExecTime != NO_SCHEDULE
-                    && System.currentTimeMillis() > scheduledExecTime) {
-                //Run the check on the awt thread
-                SwingUtilities.invokeLater(check);
-                scheduledExecTime = NO_SCHEDULE;
-            }
-            try {
-                Thread.sleep(PRECISION);
-            } catch (InterruptedException ignored) {}
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, task -> {
+            Thread thread = new Thread(task, "Board validator timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        //Rescheduling cancels often, don't keep the cancelled checks around
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
+
+    /**
+     * Run the first check right away.
+     */
+    public synchronized void start() {
+        arm(0L);
+    }
+
+    /**
+     * Take a snapshot of the board and check it in the background. Runs on the awt thread.
+     */
+    private void takeSnapshot() {
+        if (stop || isSolved) return;
+        Board snapshot = board.copy();
+        CHECKER.execute(() -> check(snapshot));
+    }
+
+    private void check(Board snapshot) {
+        boolean full = snapshot.isFull();
+        //Only the checker thread touches the checker
+        snapshot.copyInto(checkedBoard);
+        checker.refresh();
+        Result result = full ? checker.isSolved() : checker.isValid();
+        SwingUtilities.invokeLater(() -> publish(snapshot.getVersion(), full, result));
+    }
+
+    /**
+     * Show the result of a check. Runs on the awt thread.
+     */
+    private void publish(long version, boolean full, Result result) {
+        //The board changed while the check ran, a newer check will follow
+        if (stop || isSolved || board.getVersion() != version) return;
+        if (result.getResultState() == Result.State.VIOLATES) {
+            view.boardView().setHighlights(result.getErrorCoords());
+            view.setMessage(result.getMessage());
+        } else if (full) {
+            //Run the callback and complete the service
+            isSolved = true;
+            callback.run();
         }
     }
 
+    private void arm(long delay) {
+        if (stop || isSolved) return;
+        if (scheduledCheck != null) scheduledCheck.cancel(false);
+        //The snapshot is taken on the awt thread where the board is changed
+        scheduledCheck = SCHEDULER.schedule(() -> SwingUtilities.invokeLater(this::takeSnapshot), delay, TimeUnit.MILLISECONDS);
+    }
+
     /**
      * Peacefully shutdown this validator. Once shutdown
      * the instance cannot be restarted.
      */
-    public void shutdown() {
+    public synchronized void shutdown() {
         this.stop = true;
+        if (scheduledCheck != null) scheduledCheck.cancel(false);
     }
 
     /**
@@ -101,7 +135,7 @@ public class Validator extends Thread {
      * This will cancel the current schedule if one exists.
      */
     public synchronized void schedule() {
-        this.scheduledExecTime = System.currentTimeMillis() + DELAY;
+        arm(DELAY);
     }
 
     /**
@@ -110,17 +144,7 @@ public class Validator extends Thread {
      * not solved or this validator has been {@link #shutdown()}
      * before the board was solved.
      */
-    public synchronized boolean isSolved() {
+    public boolean isSolved() {
         return this.isSolved;
     }
-
-    /**
-     * Direct access to this {@link Validator}'s {@link BoardChecker}.
-     * @return the result of the {@link BoardChecker#isValid()} call.
-     */
-    public synchronized Result isValid() {
-        synchronized (checker) {
-            return checker.isValid();
-        }
-    }
 }
@@ -1,20 +1,49 @@
 package cas.se3xa3.bitsplease.model;
 
 import java.util.Arrays;
-import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  * Created on 25/10/2015.
+ * The board is stored as bit vectors. Each row has a red, blue and locked mask
+ * where bit {@code column} is set if the tile at {@code (row, column)} has that
+ * property. The same information is kept transposed for the columns so that
+ * column queries are as cheap as row queries.<br>
+ * Every change to the board increases its {@link Board#getVersion()}.
  */
 public class Board {
+    /**
+     * The largest board that can be represented. Each line is packed into a {@code long}.
+     */
+    public static final int MAX_SIZE = Long.SIZE;
+
     private int size;
-    private Row[] rows;
+    private long fullMask;
+
+    private long[] rowRed;
+    private long[] rowBlue;
+    private long[] rowLocked;
+    private long[] columnRed;
+    private long[] columnBlue;
+    private long[] columnLocked;
 
+    private long version;
+
+    /**
+     * Create an empty, unlocked board.
+     * @param size the number of rows and columns of the board.
+     * @throws IllegalArgumentException if size doesn't fall in the range {@code [0, MAX_SIZE]}
+     */
     public Board(int size) {
+        if (size < 0) throw new IllegalArgumentException("size must be >= 0 but was "+size);
+        if (size > MAX_SIZE) throw new IllegalArgumentException("size must be <= "+MAX_SIZE+" but was "+size);
         this.size = size;
-        this.rows = new Row[size];
-        IntStream.range(0, size).forEach(i -> rows[i] = new Row(size));
+        this.fullMask = size == Long.SIZE ? -1L : (1L << size) - 1;
+        this.rowRed = new long[size];
+        this.rowBlue = new long[size];
+        this.rowLocked = new long[size];
+        this.columnRed = new long[size];
+        this.columnBlue = new long[size];
+        this.columnLocked = new long[size];
     }
 
     /**
@@ -25,6 +54,15 @@ public class Board {
         return this.size;
     }
 
+    /**
+     * Get the version of this board. The version increases every time a tile or lock
+     * is changed so two reads of the same version saw the same board.
+     * @return the number of changes made to this board and the board it was copied from.
+     */
+    public long getVersion() {
+        return version;
+    }
+
     /**
      * A convenience method for getting the largest index that can be queried
      * @return {@link Board#getSize()} - 1
@@ -39,8 +77,16 @@ public class Board {
      * @param column the column position
      */
     private void checkInRange(int row, int column) {
+        checkRowInRange(row);
+        checkColumnInRange(column);
+    }
+
+    private void checkRowInRange(int row) {
         if (row < 0) throw new IllegalArgumentException("row must be >= 0 but was "+row);
         if (row >= size) throw new IllegalArgumentException("row must be < board size ("+size+") but was "+row);
+    }
+
+    private void checkColumnInRange(int column) {
         if (column < 0) throw new IllegalArgumentException("column must be >= 0 but was "+column);
         if (column >= size) throw new IllegalArgumentException("column must be < board size ("+size+") but was "+column);
     }
@@ -51,11 +97,13 @@ public class Board {
      * @param column the column of the tile being queried.
      * @return the tile at the given index
      * @throws IllegalArgumentException if row or column doesn't fall in the range {@code [0, size)}
-     * @throws TileLockedException if the position {@code (row, column)} has the locked flag set to true
      */
     public Tile getTileAt(int row, int column) {
         checkInRange(row, column);
-        return rows[row].getTileAt(column);
+        long bit = 1L << column;
+        if ((rowRed[row] & bit) != 0) return Tile.RED;
+        if ((rowBlue[row] & bit) != 0) return Tile.BLUE;
+        return Tile.EMPTY;
     }
 
     /**
@@ -68,9 +116,10 @@ public class Board {
      * @throws TileLockedException if the position {@code (row, column)} has the locked flag set to true
      */
     public Tile setTileAt(int row, int column, Tile newState) {
-        checkInRange(row, column);
-        Tile oldState = rows[row].getTileAt(column);
-        rows[row].setTileAt(column, newState);
+        Tile oldState = getTileAt(row, column);
+        if ((rowLocked[row] & (1L << column)) != 0)
+            throw new TileLockedException("Cannot set tile at "+column+" to "+newState.name());
+        write(row, column, newState);
         return oldState;
     }
 
@@ -83,8 +132,34 @@ public class Board {
      * @throws TileLockedException if the position {@code (row, column)} has the locked flag set to true
      */
     public Tile stepTileAt(int row, int column) {
-        checkInRange(row, column);
-        return rows[row].stepTileAt(column);
+        Tile newState = getTileAt(row, column).nextState();
+        if ((rowLocked[row] & (1L << column)) != 0)
+            throw new TileLockedException("Cannot step tile at "+column+".");
+        write(row, column, newState);
+        return newState;
+    }
+
+    /**
+     * Update both the row and column masks for a single tile. No checks are done.
+     */
+    private void write(int row, int column, Tile state) {
+        version++;
+        long columnBit = 1L << column;
+        long rowBit = 1L << row;
+        rowRed[row] &= ~columnBit;
+        rowBlue[row] &= ~columnBit;
+        columnRed[column] &= ~rowBit;
+        columnBlue[column] &= ~rowBit;
+        switch (state) {
+            case RED:
+                rowRed[row] |= columnBit;
+                columnRed[column] |= rowBit;
+                break;
+            case BLUE:
+                rowBlue[row] |= columnBit;
+                columnBlue[column] |= rowBit;
+                break;
+        }
     }
 
     /**
@@ -96,7 +171,14 @@ public class Board {
      */
     public void setLockAt(int row, int column, boolean locked) {
         checkInRange(row, column);
-        rows[row].setLockAt(column, locked);
+        version++;
+        if (locked) {
+            rowLocked[row] |= 1L << column;
+            columnLocked[column] |= 1L << row;
+        } else {
+            rowLocked[row] &= ~(1L << column);
+            columnLocked[column] &= ~(1L << row);
+        }
     }
 
     /**
@@ -104,7 +186,9 @@ public class Board {
      * @param locked the new state of the flag, true for locked and false for unlocked.
      */
     public void setAllLocks(final boolean locked) {
-        Arrays.stream(rows).forEach(row -> row.setAllLocks(locked));
+        version++;
+        Arrays.fill(rowLocked, locked ? fullMask : 0L);
+        Arrays.fill(columnLocked, locked ? fullMask : 0L);
     }
 
     /**
@@ -117,7 +201,70 @@ public class Board {
      */
     public boolean isLocked(int row, int column) {
         checkInRange(row, column);
-        return rows[row].isLocked(column);
+        return (rowLocked[row] & (1L << column)) != 0;
+    }
+
+    /**
+     * Get the tiles of type {@code tile} in the row at index {@code row} as a bit vector.
+     * Bit {@code column} is set if the tile at {@code (row, column)} is of type {@code tile}.
+     * @param row the index of the row.
+     * @param tile the type of tile to select.
+     * @return the mask of the tiles of type {@code tile} in row {@code row}.
+     * @throws IllegalArgumentException if {@code row} does not fall in the range {@code [0, size)}.
+     */
+    public long getRowMask(int row, Tile tile) {
+        checkRowInRange(row);
+        return select(rowRed[row], rowBlue[row], tile);
+    }
+
+    /**
+     * Get the tiles of type {@code tile} in the column at index {@code column} as a bit vector.
+     * Bit {@code row} is set if the tile at {@code (row, column)} is of type {@code tile}.
+     * @param column the index of the column.
+     * @param tile the type of tile to select.
+     * @return the mask of the tiles of type {@code tile} in column {@code column}.
+     * @throws IllegalArgumentException if {@code column} does not fall in the range {@code [0, size)}.
+     */
+    public long getColumnMask(int column, Tile tile) {
+        checkColumnInRange(column);
+        return select(columnRed[column], columnBlue[column], tile);
+    }
+
+    /**
+     * Get the locked tiles in the row at index {@code row} as a bit vector.
+     * @param row the index of the row.
+     * @return the mask with bit {@code column} set if {@code (row, column)} is locked.
+     * @throws IllegalArgumentException if {@code row} does not fall in the range {@code [0, size)}.
+     */
+    public long getLockedRowMask(int row) {
+        checkRowInRange(row);
+        return rowLocked[row];
+    }
+
+    /**
+     * Get the locked tiles in the column at index {@code column} as a bit vector.
+     * @param column the index of the column.
+     * @return the mask with bit {@code row} set if {@code (row, column)} is locked.
+     * @throws IllegalArgumentException if {@code column} does not fall in the range {@code [0, size)}.
+     */
+    public long getLockedColumnMask(int column) {
+        checkColumnInRange(column);
+        return columnLocked[column];
+    }
+
+    /**
+     * @return a mask with the lowest {@link Board#getSize()} bits set.
+     */
+    public long getFullMask() {
+        return fullMask;
+    }
+
+    private long select(long red, long blue, Tile tile) {
+        switch (tile) {
+            case RED: return red;
+            case BLUE: return blue;
+            default: return fullMask & ~(red | blue);
+        }
     }
 
     /**
@@ -128,10 +275,7 @@ public class Board {
      * @throws IllegalArgumentException if {@code row} does not fall in the range {@code [0, size)}.
      */
     public int countTypeInRow(int row, Tile tile) {
-        if (row < 0) throw new IllegalArgumentException("row must be >= 0 but was "+row);
-        if (row >= size) throw new IllegalArgumentException("row must be < board size ("+size+") but was "+row);
-        return IntStream.range(0, size)
-                .reduce(0, (sum, i) -> (rows[row].getTileAt(i) == tile ? sum + 1 : sum));
+        return Long.bitCount(getRowMask(row, tile));
     }
 
     /**
@@ -142,24 +286,30 @@ public class Board {
      * @throws IllegalArgumentException if {@code column} does not fall in the range {@code [0, size)}.
      */
     public int countTypeInColumn(int column, Tile tile) {
-        if (column < 0) throw new IllegalArgumentException("column must be >= 0 but was "+column);
-        if (column >= size) throw new IllegalArgumentException("column must be < board size ("+size+") but was "+column);
-        return IntStream.range(0, size)
-                .reduce(0, (sum, i) -> (rows[i].getTileAt(column) == tile ? sum + 1 : sum));
+        return Long.bitCount(getColumnMask(column, tile));
     }
-    
+
     /**
      * Sets all unlocked tiles to empty.
      */
     public void clearAllUnlockedTiles() {
-    	Arrays.stream(rows).forEach(Row::clearAllUnlockedTiles);
+        version++;
+        for (int i = 0; i < size; i++) {
+            rowRed[i] &= rowLocked[i];
+            rowBlue[i] &= rowLocked[i];
+            columnRed[i] &= columnLocked[i];
+            columnBlue[i] &= columnLocked[i];
+        }
     }
-    
+
     /**
      * @return true if this board does not contain any empty tiles, false otherwise.
      */
     public boolean isFull() {
-        return !IntStream.range(0, size).anyMatch(i -> countTypeInRow(i, Tile.EMPTY) > 0);
+        for (int row = 0; row < size; row++) {
+            if ((rowRed[row] | rowBlue[row]) != fullMask) return false;
+        }
+        return true;
     }
 
     /**
@@ -167,19 +317,25 @@ public class Board {
      * @return the percentage solved rounded to the nearest percentage point. {@code [0, 100]}
      */
     public int percentageSolved() {
-        int amtEmpty = IntStream.range(0, size).reduce(0, (numEmpty, rowIndex) -> numEmpty + countTypeInRow(rowIndex, Tile.EMPTY));
-        int amtFull = (size * size) - amtEmpty;
+        int amtFull = 0;
+        for (int row = 0; row < size; row++) amtFull += Long.bitCount(rowRed[row] | rowBlue[row]);
         float percentFull = amtFull / ((float) (size * size));
         return Math.round(100 * percentFull);
     }
 
     /**
      * Make a copy of this board.
-     * @return a fresh board with the same state as this board.
+     * @return a fresh board with the same state and version as this board.
      */
     public Board copy() {
         Board clone = new Board(size);
-        IntStream.range(0, size).forEach(index -> clone.rows[index] = rows[index].copy());
+        System.arraycopy(rowRed, 0, clone.rowRed, 0, size);
+        System.arraycopy(rowBlue, 0, clone.rowBlue, 0, size);
+        System.arraycopy(rowLocked, 0, clone.rowLocked, 0, size);
+        System.arraycopy(columnRed, 0, clone.columnRed, 0, size);
+        System.arraycopy(columnBlue, 0, clone.columnBlue, 0, size);
+        System.arraycopy(columnLocked, 0, clone.columnLocked, 0, size);
+        clone.version = version;
         return clone;
     }
 
@@ -187,11 +343,34 @@ public class Board {
      * Copy the contents of this board onto another board.
      * @param toFill the board to fill up
      * @throws IllegalArgumentException if the size of {@code toFill.}{@link Board#getSize()} != {@code this.}{@link Board#getSize()}
+     * @throws TileLockedException if {@code toFill} has any locked tiles.
      */
     public void copyInto(Board toFill) {
         if (toFill.getSize() != this.size) throw new IllegalArgumentException("Incompatible board sizes");
-        IntStream.range(0, size * size)
-                .forEach(coord -> toFill.setTileAt(coord % size, coord / size, rows[coord % size].getTileAt(coord / size)));
+        for (int i = 0; i < size; i++) {
+            if (toFill.rowLocked[i] != 0)
+                throw new TileLockedException("Cannot copy into a board with locked tiles in row "+i);
+        }
+        System.arraycopy(rowRed, 0, toFill.rowRed, 0, size);
+        System.arraycopy(rowBlue, 0, toFill.rowBlue, 0, size);
+        System.arraycopy(columnRed, 0, toFill.columnRed, 0, size);
+        System.arraycopy(columnBlue, 0, toFill.columnBlue, 0, size);
+        toFill.version++;
+    }
+
+    /**
+     * Write a row as a string of {@link Tile#getSerializedChar()}s. Locked tiles are upper case.
+     * @param row the row to write.
+     * @return the serialized row, for example {@code "eRbB"}.
+     */
+    public String getSerializedRow(int row) {
+        checkRowInRange(row);
+        char[] serialized = new char[size];
+        for (int column = 0; column < size; column++) {
+            char tile = getTileAt(row, column).getSerializedChar();
+            serialized[column] = isLocked(row, column) ? Character.toUpperCase(tile) : tile;
+        }
+        return new String(serialized);
     }
 
     @Override
@@ -201,21 +380,32 @@ public class Board {
 
         Board board = (Board) o;
 
-        return size == board.size && Arrays.equals(rows, board.rows);
+        //The column masks are derived from the row masks
+        return size == board.size
+                && Arrays.equals(rowRed, board.rowRed)
+                && Arrays.equals(rowBlue, board.rowBlue)
+                && Arrays.equals(rowLocked, board.rowLocked);
     }
 
     @Override
     public int hashCode() {
         int result = size;
-        result = 31 * result + Arrays.hashCode(rows);
+        result = 31 * result + Arrays.hashCode(rowRed);
+        result = 31 * result + Arrays.hashCode(rowBlue);
+        result = 31 * result + Arrays.hashCode(rowLocked);
         return result;
     }
 
     @Override
     public String toString() {
+        StringBuilder rows = new StringBuilder();
+        for (int row = 0; row < size; row++) {
+            if (row > 0) rows.append(", ");
+            rows.append(getSerializedRow(row));
+        }
         return "Board{" +
                 "size=" + size +
-                ", rows=" + Arrays.toString(rows) +
-                '}';
+                ", rows=[" + rows +
+                "]}";
     }
 }
@@ -0,0 +1,122 @@
+package cas.se3xa3.bitsplease.model;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Created on 17/10/2026.
+ * Reads and writes a {@link Board} as a json object straight from the stream, without
+ * building a tree of json elements. A board is written with one string per row as given by
+ * {@link Board#getSerializedRow(int)}, for example
+ * <pre>
+ * {"size":4,"rows":["eeRe","Beee","eBee","Reer"]}
+ * </pre>
+ * Boards in the older format, where {@code contents} maps the index of every row to an array
+ * of tiles, can also be read. Instances hold no state and may be shared between threads.
+ */
+public class BoardTypeAdapter extends TypeAdapter<Board> {
+
+    @Override
+    public void write(JsonWriter out, Board board) throws IOException {
+        if (board == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("size").value(board.getSize());
+        out.name("rows").beginArray();
+        for (int row = 0; row < board.getSize(); row++) out.value(board.getSerializedRow(row));
+        out.endArray();
+        out.endObject();
+    }
+
+    @Override
+    public Board read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        int size = -1;
+        //The rows may come before the size so they are kept until the end of the object
+        String[] rows = new String[Board.MAX_SIZE];
+        int rowCount = 0;
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "size": size = in.nextInt();
+                    break;
+                case "rows":
+                    in.beginArray();
+                    while (in.hasNext()) {
+                        if (rowCount == rows.length) throw new JsonParseException("Too many rows. " + in.getPath());
+                        rows[rowCount++] = in.nextString();
+                    }
+                    in.endArray();
+                    break;
+                case "contents": rowCount = Math.max(rowCount, readContents(in, rows));
+                    break;
+                default: in.skipValue();
+                    break;
+            }
+        }
+        in.endObject();
+        if (size < 0) throw new JsonParseException("json does not have required field 'size'");
+        if (size > Board.MAX_SIZE) throw new JsonParseException("Invalid size. " + size);
+        if (rowCount != size) throw new JsonParseException("Expected " + size + " rows but found " + rowCount);
+        Board board = new Board(size);
+        for (int row = 0; row < size; row++) readRow(board, row, rows[row]);
+        return board;
+    }
+
+    /**
+     * Read the older format of the rows, an object mapping the index of every row
+     * to an array of serialized tiles.
+     * @return the number of rows, one past the highest index.
+     */
+    private static int readContents(JsonReader in, String[] rows) throws IOException {
+        int rowCount = 0;
+        char[] tiles = new char[Board.MAX_SIZE];
+        in.beginObject();
+        while (in.hasNext()) {
+            String name = in.nextName();
+            int row;
+            try {
+                row = Integer.parseInt(name);
+            } catch (NumberFormatException e) {
+                throw new JsonParseException("Invalid row index '" + name + "' at " + in.getPath());
+            }
+            if (row < 0 || row >= rows.length) throw new JsonParseException("Invalid row index '" + name + "' at " + in.getPath());
+            int length = 0;
+            in.beginArray();
+            while (in.hasNext()) {
+                String tile = in.nextString();
+                if (tile.length() != 1 || length == tiles.length)
+                    throw new JsonParseException("Invalid tile '" + tile + "' at " + in.getPath());
+                tiles[length++] = tile.charAt(0);
+            }
+            in.endArray();
+            rows[row] = new String(tiles, 0, length);
+            rowCount = Math.max(rowCount, row + 1);
+        }
+        in.endObject();
+        return rowCount;
+    }
+
+    private static void readRow(Board board, int row, String serialized) {
+        if (serialized == null) throw new JsonParseException("Missing row " + row);
+        if (serialized.length() != board.getSize())
+            throw new JsonParseException("Row " + row + " must have " + board.getSize() + " tiles but has " + serialized.length());
+        for (int column = 0; column < serialized.length(); column++) {
+            char serializedTile = serialized.charAt(column);
+            Tile tile = Tile.deserialize(Character.toLowerCase(serializedTile));
+            if (tile == null) throw new JsonParseException("unknown tile at (" + row + ", " + column + ")");
+            if (tile != Tile.EMPTY) board.setTileAt(row, column, tile);
+            if (Character.isUpperCase(serializedTile)) board.setLockAt(row, column, true);
+        }
+    }
+}
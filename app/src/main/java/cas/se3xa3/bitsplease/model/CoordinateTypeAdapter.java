@@ -0,0 +1,76 @@
+package cas.se3xa3.bitsplease.model;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+
+/**
+ * Created on 17/10/2026.
+ * Reads and writes a {@link Coordinate} as a string of the form {@code "(row,column)"}.
+ * Whitespace is allowed around the numbers when reading. Instances hold no state and
+ * may be shared between threads.
+ */
+public class CoordinateTypeAdapter extends TypeAdapter<Coordinate> {
+
+    @Override
+    public void write(JsonWriter out, Coordinate coordinate) throws IOException {
+        if (coordinate == null) {
+            out.nullValue();
+            return;
+        }
+        out.value("(" + coordinate.getRow() + "," + coordinate.getColumn() + ")");
+    }
+
+    @Override
+    public Coordinate read(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+        if (token != JsonToken.STRING)
+            throw new JsonParseException("Cannot parse coordinate. It must be a primitive string.");
+        String serialized = in.nextString();
+        //Walk the string once instead of matching a pattern, "(", row, ",", column, ")"
+        int[] position = {skipWhitespace(serialized, 0)};
+        expect(serialized, position, '(');
+        int row = readNumber(serialized, position);
+        expect(serialized, position, ',');
+        int column = readNumber(serialized, position);
+        expect(serialized, position, ')');
+        if (position[0] != serialized.length()) throw invalid(serialized);
+        return new Coordinate(row, column);
+    }
+
+    private static int skipWhitespace(String serialized, int index) {
+        while (index < serialized.length() && Character.isWhitespace(serialized.charAt(index))) index++;
+        return index;
+    }
+
+    private static void expect(String serialized, int[] position, char expected) {
+        if (position[0] >= serialized.length() || serialized.charAt(position[0]) != expected) throw invalid(serialized);
+        position[0] = skipWhitespace(serialized, position[0] + 1);
+    }
+
+    private static int readNumber(String serialized, int[] position) {
+        int index = position[0];
+        int number = 0;
+        while (index < serialized.length() && serialized.charAt(index) >= '0' && serialized.charAt(index) <= '9') {
+            if (number > Integer.MAX_VALUE / 10) throw invalid(serialized);
+            number = number * 10 + serialized.charAt(index) - '0';
+            if (number < 0) throw invalid(serialized);
+            index++;
+        }
+        if (index == position[0]) throw invalid(serialized);
+        position[0] = skipWhitespace(serialized, index);
+        return number;
+    }
+
+    private static JsonParseException invalid(String serialized) {
+        return new JsonParseException("Cannot parse coordinate ('" + serialized + "'). It must look like (row,column)");
+    }
+}
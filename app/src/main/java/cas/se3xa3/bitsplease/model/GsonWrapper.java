@@ -0,0 +1,105 @@
+package cas.se3xa3.bitsplease.model;
+
+import com.google.gson.*;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.function.Consumer;
+
+/**
+ * Created on 25/10/2015.
+ * Saves and loads boards, coordinates and {@link SavedSession}s as json. Everything is
+ * read and written straight from the stream by a {@link BoardTypeAdapter} and a
+ * {@link CoordinateTypeAdapter}, so an array of thousands of boards can be streamed
+ * with {@link #writeBoards(Iterable, Writer)} and {@link #readBoards(Reader, Consumer)}
+ * while holding a single board at a time.
+ */
+public class GsonWrapper {
+    private final TypeAdapter<Board> boardAdapter = new BoardTypeAdapter();
+    private final boolean prettyPrint;
+    private Gson gson;
+
+    public GsonWrapper(boolean prettyPrint) {
+        this.prettyPrint = prettyPrint;
+        GsonBuilder builder = new GsonBuilder();
+        if (prettyPrint) builder.setPrettyPrinting();
+        builder.registerTypeHierarchyAdapter(Board.class, boardAdapter);
+        builder.registerTypeHierarchyAdapter(Coordinate.class, new CoordinateTypeAdapter());
+        gson = builder.create();
+    }
+
+    public Gson getGson() {
+        return gson;
+    }
+
+    /**
+     * Wrap the given reader in a lenient json reader.
+     * @param reader the reader to wrap.
+     * @return the lenient reader
+     */
+    public JsonReader wrapReader(Reader reader) {
+        JsonReader jsonReader = new JsonReader(reader);
+        jsonReader.setLenient(true);
+        return jsonReader;
+    }
+
+    /**
+     * Write boards as a json array one at a time.
+     * @param boards the boards to write. They are only iterated once.
+     * @param writer where to write the array. It is flushed but not closed.
+     * @throws IOException if writing fails.
+     */
+    public void writeBoards(Iterable<Board> boards, Writer writer) throws IOException {
+        JsonWriter out = new JsonWriter(writer);
+        if (prettyPrint) out.setIndent("  ");
+        out.beginArray();
+        for (Board board : boards) boardAdapter.write(out, board);
+        out.endArray();
+        out.flush();
+    }
+
+    /**
+     * Read a json array of boards, handing each one over as soon as it is read.
+     * @param reader where to read the array from. It is not closed.
+     * @param action called with every board in the order they appear.
+     * @throws IOException if reading fails.
+     * @throws JsonParseException if the array or one of its boards is malformed.
+     */
+    public void readBoards(Reader reader, Consumer<? super Board> action) throws IOException {
+        JsonReader in = wrapReader(reader);
+        in.beginArray();
+        while (in.hasNext()) action.accept(boardAdapter.read(in));
+        in.endArray();
+        if (in.peek() != JsonToken.END_DOCUMENT) throw new JsonParseException("Expected a single array of boards");
+    }
+
+    /**
+     * @param session the session to save.
+     * @param writer where to write the session. It is flushed but not closed.
+     * @throws JsonIOException if writing fails.
+     */
+    public void writeSession(SavedSession session, Writer writer) {
+        gson.toJson(session, SavedSession.class, writer);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new JsonIOException(e);
+        }
+    }
+
+    /**
+     * @param reader where to read the session from. It is not closed.
+     * @return the session.
+     * @throws JsonParseException if the session is malformed.
+     */
+    public SavedSession readSession(Reader reader) {
+        SavedSession session = gson.fromJson(wrapReader(reader), SavedSession.class);
+        if (session == null || session.getBoard() == null) throw new JsonParseException("json is not a saved session");
+        if (session.getElapsedMillis() < 0) throw new JsonParseException("Invalid elapsed time. " + session.getElapsedMillis());
+        return session;
+    }
+}
@@ -0,0 +1,29 @@
+package cas.se3xa3.bitsplease.model;
+
+/**
+ * Created on 17/10/2026.
+ * Tests on the masks of a single color in a line, see {@link Board#getRowMask(int, Tile)}
+ * and {@link Board#getColumnMask(int, Tile)}. Bit i of a mask is position i of the line.
+ */
+public final class LineMasks {
+
+    private LineMasks() {
+    }
+
+    /**
+     * @param colorMask the tiles of a single color in a line.
+     * @return the tiles that are part of a run of 3 or more.
+     */
+    public static long runsOfThree(long colorMask) {
+        long starts = colorMask & (colorMask >>> 1) & (colorMask >>> 2);
+        return starts | (starts << 1) | (starts << 2);
+    }
+
+    /**
+     * @param colorMask the tiles of a single color in a line.
+     * @return true if the line has a run of 3 or more of the color.
+     */
+    public static boolean hasRunOfThree(long colorMask) {
+        return (colorMask & (colorMask >>> 1) & (colorMask >>> 2)) != 0;
+    }
+}
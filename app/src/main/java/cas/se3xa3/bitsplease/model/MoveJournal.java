@@ -0,0 +1,103 @@
+package cas.se3xa3.bitsplease.model;
+
+import java.util.Arrays;
+
+/**
+ * Created on 17/10/2026.
+ * Remembers the moves made on a board so they can be undone and redone. A move is a
+ * single int packing the tile's row, column, old state and new state, so undoing or
+ * redoing a move only writes that one tile back instead of restoring a copy of the board.
+ * Making a move after undoing forgets the moves that could have been redone.<br>
+ * See {@link #getRow(int)}, {@link #getColumn(int)}, {@link #getOldState(int)} and
+ * {@link #getNewState(int)} to read a move. Instances are not thread safe.
+ */
+public class MoveJournal {
+    /**
+     * Returned when there is no move to undo or redo.
+     */
+    public static final int NO_MOVE = -1;
+
+    private static final Tile[] TILES = Tile.values();
+    private static final int INITIAL_CAPACITY = 64;
+
+    private int[] moves = new int[INITIAL_CAPACITY];
+    //Moves before the cursor are done, moves from it up to the size can be redone
+    private int cursor;
+    private int size;
+
+    /**
+     * Record a move already made on the board.
+     * @param row the row of the tile.
+     * @param column the column of the tile.
+     * @param oldState the state of the tile before the move.
+     * @param newState the state of the tile after the move.
+     * @return the move.
+     */
+    public int record(int row, int column, Tile oldState, Tile newState) {
+        int move = row << 12 | column << 4 | oldState.ordinal() << 2 | newState.ordinal();
+        if (cursor == moves.length) moves = Arrays.copyOf(moves, moves.length * 2);
+        moves[cursor++] = move;
+        size = cursor;
+        return move;
+    }
+
+    /**
+     * Put the tile changed by the last move back in its old state.
+     * @param board the board the moves were made on.
+     * @return the move undone or {@link #NO_MOVE} if there is none.
+     * @throws TileLockedException if the tile has been locked since the move.
+     */
+    public int undo(Board board) {
+        if (!canUndo()) return NO_MOVE;
+        int move = moves[cursor - 1];
+        board.setTileAt(getRow(move), getColumn(move), getOldState(move));
+        cursor--;
+        return move;
+    }
+
+    /**
+     * Make the last undone move again.
+     * @param board the board the moves were made on.
+     * @return the move redone or {@link #NO_MOVE} if there is none.
+     * @throws TileLockedException if the tile has been locked since the move.
+     */
+    public int redo(Board board) {
+        if (!canRedo()) return NO_MOVE;
+        int move = moves[cursor];
+        board.setTileAt(getRow(move), getColumn(move), getNewState(move));
+        cursor++;
+        return move;
+    }
+
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+
+    public boolean canRedo() {
+        return cursor < size;
+    }
+
+    /**
+     * Forget every move.
+     */
+    public void clear() {
+        cursor = 0;
+        size = 0;
+    }
+
+    public static int getRow(int move) {
+        return move >>> 12;
+    }
+
+    public static int getColumn(int move) {
+        return (move >>> 4) & 0xFF;
+    }
+
+    public static Tile getOldState(int move) {
+        return TILES[(move >>> 2) & 0x3];
+    }
+
+    public static Tile getNewState(int move) {
+        return TILES[move & 0x3];
+    }
+}
@@ -0,0 +1,30 @@
+package cas.se3xa3.bitsplease.model;
+
+/**
+ * Created on 17/10/2026.
+ * A game in progress as it is saved, the board with the tiles placed so far and the
+ * time spent playing it. See {@link GsonWrapper} to save and load sessions.
+ */
+public class SavedSession {
+    private final Board board;
+    private final long elapsedMillis;
+
+    /**
+     * @param board the board of the game, with the tiles of the puzzle locked.
+     * @param elapsedMillis the time spent playing the game in milliseconds.
+     * @throws IllegalArgumentException if elapsedMillis < 0
+     */
+    public SavedSession(Board board, long elapsedMillis) {
+        if (elapsedMillis < 0) throw new IllegalArgumentException("elapsedMillis must be >= 0 but was "+elapsedMillis);
+        this.board = board;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public Board getBoard() {
+        return board;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+}
@@ -16,8 +16,17 @@ public class Timer {
      * Restart the timer setting the start time to the current time.
      */
     public void restart() {
-        start = System.currentTimeMillis();
-        stop = start;
+        restart(0);
+    }
+
+    /**
+     * Restart the timer as if it had been started {@code elapsedMillis} ago, to
+     * carry on timing a saved game.
+     * @param elapsedMillis the time already spent in milliseconds.
+     */
+    public void restart(long elapsedMillis) {
+        stop = System.currentTimeMillis();
+        start = stop - elapsedMillis;
     }
 
     /**
@@ -35,4 +44,11 @@ public class Timer {
     public long getTotalTime() {
         return stop - start;
     }
+
+    /**
+     * @return the time from the start to now.
+     */
+    public long getElapsedTime() {
+        return System.currentTimeMillis() - start;
+    }
 }
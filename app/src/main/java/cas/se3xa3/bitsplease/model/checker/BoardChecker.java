@@ -10,18 +10,22 @@ import java.util.*;
  * A board checker that checks the validity of the board it wraps.
  */
 public class BoardChecker {
+    //Results of a board with no violations are shared, they are never modified
+    private static final Result VALID = new Result(Result.State.SATISFIES, "Valid", null);
+    private static final Result SOLVED = new Result(Result.State.SATISFIES, "Solved", null);
+
     private final Random r = new Random(System.currentTimeMillis());
 
-    private List<Rule> rules;
+    private Rule[] rules;
     private Board board;
 
     public BoardChecker(Board board) {
         this.board = board;
-        rules = Arrays.asList(
-                Rules.MAX_2_CONSECUTIVE_ROW, Rules.MAX_2_CONSECUTIVE_COLUMN,
-                Rules.EQUAL_TILE_COUNT_ROW, Rules.EQUAL_TILE_COUNT_COLUMN,
-                Rules.NO_IDENTICAL_ROWS, Rules.NO_IDENTICAL_COLUMNS
-        );
+        rules = new Rule[] {
+                MaskRules.MAX_2_CONSECUTIVE_ROW, MaskRules.MAX_2_CONSECUTIVE_COLUMN,
+                MaskRules.EQUAL_TILE_COUNT_ROW, MaskRules.EQUAL_TILE_COUNT_COLUMN,
+                MaskRules.NO_IDENTICAL_ROWS, MaskRules.NO_IDENTICAL_COLUMNS
+        };
     }
 
     /**
@@ -31,15 +35,14 @@ public class BoardChecker {
      * Check {@link Result#getResultState()} for this evaluation.
      */
     public Result isValid() {
-        List<Result> badResults = new ArrayList<>();
-        //Check all the rules
-        rules.forEach(rule -> {
+        Result violation = null;
+        int violations = 0;
+        //Check all the rules, keeping a random violation without collecting them
+        for (Rule rule : rules) {
             Result result = rule.holds(board);
-            if (result.getResultState() == Result.State.VIOLATES) badResults.add(result);
-        });
-        //Return success or a random violation from the list of violations
-        if (badResults.isEmpty()) return new Result(Result.State.SATISFIES, "Valid", null);
-        else                      return badResults.get(r.nextInt(badResults.size()));
+            if (result.getResultState() == Result.State.VIOLATES && r.nextInt(++violations) == 0) violation = result;
+        }
+        return violation == null ? VALID : violation;
     }
 
     /**
@@ -49,11 +52,11 @@ public class BoardChecker {
      * Check {@link Result#getResultState()} for this evaluation.
      */
     public Result isSolved() {
-        Result full = Rules.NO_EMPTY_TILES.holds(board);
+        Result full = MaskRules.NO_EMPTY_TILES.holds(board);
         if (full.getResultState() != Result.State.SATISFIES) return full;
         Result valid = isValid();
         if (valid.getResultState() == Result.State.SATISFIES)
-            return new Result(Result.State.SATISFIES, "Solved", null);
+            return SOLVED;
         else
             return valid;
     }
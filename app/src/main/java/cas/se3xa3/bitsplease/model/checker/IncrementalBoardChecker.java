@@ -0,0 +1,219 @@
+package cas.se3xa3.bitsplease.model.checker;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+
+import java.util.Random;
+
+import static cas.se3xa3.bitsplease.model.LineMasks.runsOfThree;
+import static cas.se3xa3.bitsplease.model.Tile.*;
+
+/**
+ * Created on 17/10/2026.
+ * A board checker that remembers the state of every row and column between checks.
+ * Only the lines that changed since the last check are evaluated again. Full lines are
+ * counted by their signature in a {@link LineIndex} so identical lines are found without comparing every pair.<br>
+ * Call {@link #refresh()} after any number of changes. The results are the same as the ones from {@link BoardChecker}.
+ */
+public class IncrementalBoardChecker {
+    private static final int ROWS = 0;
+    private static final int COLUMNS = 1;
+
+    //Results of a board with no violations are shared, they are never modified
+    private static final Result VALID = new Result(Result.State.SATISFIES, "Valid", null);
+    private static final Result SOLVED = new Result(Result.State.SATISFIES, "Solved", null);
+
+    private final Random r = new Random(System.currentTimeMillis());
+
+    private final Board board;
+    private final int size;
+
+    //Lines are indexed [0, size) for rows and [size, 2 * size) for columns
+    private final long[] lineRed;
+    private final long[] lineBlue;
+    private final boolean[] threeInARow;
+    private final boolean[] badCount;
+
+    //Violation totals per orientation so a valid board can be reported without a scan
+    private final int[] threeInARowLines = new int[2];
+    private final int[] badCountLines = new int[2];
+    private final int[] duplicateLines = new int[2];
+    //Full lines counted by signature, one index per orientation
+    private final LineIndex[] signatures = {new LineIndex(), new LineIndex()};
+
+    public IncrementalBoardChecker(Board board) {
+        this.board = board;
+        this.size = board.getSize();
+        this.lineRed = new long[2 * size];
+        this.lineBlue = new long[2 * size];
+        this.threeInARow = new boolean[2 * size];
+        this.badCount = new boolean[2 * size];
+        for (int index = 0; index < size; index++) {
+            updateLine(index);
+            updateLine(size + index);
+        }
+    }
+
+    /**
+     * Update the cached state of every line that changed since the last update.
+     */
+    public void refresh() {
+        for (int index = 0; index < size; index++) {
+            if (lineRed[index] != board.getRowMask(index, RED) || lineBlue[index] != board.getRowMask(index, BLUE))
+                updateLine(index);
+            if (lineRed[size + index] != board.getColumnMask(index, RED) || lineBlue[size + index] != board.getColumnMask(index, BLUE))
+                updateLine(size + index);
+        }
+    }
+
+    private void updateLine(int line) {
+        int orientation = line < size ? ROWS : COLUMNS;
+        int index = line < size ? line : line - size;
+        //Forget the old state
+        if (threeInARow[line]) threeInARowLines[orientation]--;
+        if (badCount[line]) badCountLines[orientation]--;
+        if (isFull(lineRed[line], lineBlue[line])) removeSignature(orientation, lineRed[line]);
+        //Record the new state
+        long red = orientation == ROWS ? board.getRowMask(index, RED) : board.getColumnMask(index, RED);
+        long blue = orientation == ROWS ? board.getRowMask(index, BLUE) : board.getColumnMask(index, BLUE);
+        lineRed[line] = red;
+        lineBlue[line] = blue;
+        threeInARow[line] = runsOfThree(red) != 0 || runsOfThree(blue) != 0;
+        badCount[line] = Long.bitCount(red) > size / 2 || Long.bitCount(blue) > size / 2;
+        if (threeInARow[line]) threeInARowLines[orientation]++;
+        if (badCount[line]) badCountLines[orientation]++;
+        if (isFull(red, blue)) addSignature(orientation, red);
+    }
+
+    private boolean isFull(long red, long blue) {
+        return (red | blue) == board.getFullMask() && size > 0;
+    }
+
+    private void addSignature(int orientation, long signature) {
+        if (signatures[orientation].increment(signature) > 1) duplicateLines[orientation]++;
+    }
+
+    private void removeSignature(int orientation, long signature) {
+        if (signatures[orientation].decrement(signature) > 0) duplicateLines[orientation]--;
+    }
+
+    /**
+     * Check if the board is valid, not necessarily solved. See {@link BoardChecker#isValid()}.
+     * @return a {@link Result} containing one of the errors on the board or a successful result.
+     */
+    public Result isValid() {
+        //Pick a random violated rule without collecting them
+        int violation = -1;
+        int violations = 0;
+        for (int orientation = ROWS; orientation <= COLUMNS; orientation++) {
+            if (threeInARowLines[orientation] > 0 && r.nextInt(++violations) == 0) violation = orientation;
+            if (badCountLines[orientation] > 0 && r.nextInt(++violations) == 0) violation = 2 + orientation;
+            if (duplicateLines[orientation] > 0 && r.nextInt(++violations) == 0) violation = 4 + orientation;
+        }
+        if (violation == -1) return VALID;
+        int orientation = violation % 2;
+        switch (violation / 2) {
+            case 0: return threeInARowResult(orientation);
+            case 1: return badCountResult(orientation);
+            default: return duplicateResult(orientation);
+        }
+    }
+
+    /**
+     * Check if the board is solved, meaning full and valid. See {@link BoardChecker#isSolved()}.
+     * @return a {@link Result} containing one of the errors on the board or a successful result.
+     */
+    public Result isSolved() {
+        long[] empties = null;
+        for (int row = 0; row < size; row++) {
+            long empty = board.getFullMask() & ~(lineRed[row] | lineBlue[row]);
+            if (empty == 0) continue;
+            if (empties == null) empties = new long[size];
+            empties[row] = empty;
+        }
+        if (empties != null) return Result.withErrorMask(Result.State.VIOLATES, "Board contains empty tiles", empties);
+        Result valid = isValid();
+        if (valid.getResultState() == Result.State.SATISFIES)
+            return SOLVED;
+        else
+            return valid;
+    }
+
+    private int randomLine(int orientation, boolean[] flags) {
+        int start = r.nextInt(size);
+        for (int offset = 0; offset < size; offset++) {
+            int index = (start + offset) % size;
+            if (flags[orientation * size + index]) return index;
+        }
+        throw new IllegalStateException("No flagged line");
+    }
+
+    private Result threeInARowResult(int orientation) {
+        int index = randomLine(orientation, threeInARow);
+        int line = orientation * size + index;
+        long redRuns = runsOfThree(lineRed[line]);
+        long blueRuns = runsOfThree(lineBlue[line]);
+        //Report the run closest to the start of the line
+        boolean red = redRuns != 0 && (blueRuns == 0
+                || Long.numberOfTrailingZeros(redRuns) < Long.numberOfTrailingZeros(blueRuns));
+        long runs = red ? redRuns : blueRuns;
+        int start = Long.numberOfTrailingZeros(runs);
+        int length = Long.numberOfTrailingZeros(~(runs >>> start));
+        long run = (length == Long.SIZE ? -1L : (1L << length) - 1) << start;
+        String name = (red ? RED : BLUE).name().toLowerCase();
+        if (orientation == ROWS)
+            return Result.withErrorMask(Result.State.VIOLATES,
+                    String.format("Row %d: Too many consecutive %s in a row", index+1, name), lineMask(orientation, index, run));
+        else
+            return Result.withErrorMask(Result.State.VIOLATES,
+                    String.format("Column %d: Too many consecutive %s in a column", index+1, name), lineMask(orientation, index, run));
+    }
+
+    private Result badCountResult(int orientation) {
+        int index = randomLine(orientation, badCount);
+        return Result.withErrorMask(Result.State.VIOLATES,
+                String.format("%s %d: Incorrect tile sum", orientation == ROWS ? "Row" : "Column", index+1),
+                lineMask(orientation, index, board.getFullMask()));
+    }
+
+    private Result duplicateResult(int orientation) {
+        //Find a signature shared by two full lines
+        int start = r.nextInt(size);
+        int first = -1;
+        int second = -1;
+        for (int offset = 0; offset < size && second == -1; offset++) {
+            int index = (start + offset) % size;
+            int line = orientation * size + index;
+            if (!isFull(lineRed[line], lineBlue[line]) || signatures[orientation].count(lineRed[line]) < 2) continue;
+            first = index;
+            for (int other = 0; other < size; other++) {
+                if (other != index && lineRed[orientation * size + other] == lineRed[line]
+                        && isFull(lineRed[orientation * size + other], lineBlue[orientation * size + other])) {
+                    second = other;
+                    break;
+                }
+            }
+        }
+        long[] mask = lineMask(orientation, first, board.getFullMask());
+        if (orientation == ROWS) mask[second] = board.getFullMask();
+        else for (int row = 0; row < size; row++) mask[row] |= 1L << second;
+        String name = orientation == ROWS ? "Row" : "Column";
+        return Result.withErrorMask(Result.State.VIOLATES, String.format("%s %d & %s %d: Identical", name, first+1, name, second+1), mask);
+    }
+
+    /**
+     * @param positions the positions of the tiles in the line.
+     * @return the error mask of a board, see {@link Result#withErrorMask(Result.State, String, long[])},
+     * with only the given tiles of a single line.
+     */
+    private long[] lineMask(int orientation, int index, long positions) {
+        long[] mask = new long[size];
+        if (orientation == ROWS) {
+            mask[index] = positions;
+        } else {
+            for (long cells = positions; cells != 0; cells &= cells - 1)
+                mask[Long.numberOfTrailingZeros(cells)] |= 1L << index;
+        }
+        return mask;
+    }
+}
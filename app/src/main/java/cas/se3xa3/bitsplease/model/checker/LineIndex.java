@@ -0,0 +1,180 @@
+package cas.se3xa3.bitsplease.model.checker;
+
+import cas.se3xa3.bitsplease.model.Board;
+
+import java.util.Arrays;
+
+import static cas.se3xa3.bitsplease.model.Tile.*;
+
+/**
+ * Created on 17/10/2026.
+ * Finds identical lines in a single pass. Every full line is encoded as a long signature,
+ * the mask of its red tiles, and added to a hash set of the signatures seen so far, so a
+ * duplicate is found the moment its signature is already in the set.<br>
+ * The index can also count the lines of every signature as lines come and go, see
+ * {@link #increment(long)} and {@link #decrement(long)}. An index is used either to find
+ * duplicates or to count lines between two calls to {@link #clear()}, not both.<br>
+ * An index can hold up to {@link Board#MAX_SIZE} signatures and is reused between checks
+ * without allocating. Instances are not thread safe.
+ */
+public class LineIndex {
+    /**
+     * Returned when no two lines are identical.
+     */
+    public static final long NO_DUPLICATE = -1L;
+
+    private static final int NO_LINE = -1;
+
+    private final long[] signatures;
+    private final int[] lines;
+    //Number of lines with the signature of each slot, 0 for an empty slot
+    private final int[] counts;
+    private final int shift;
+
+    public LineIndex() {
+        //Keep the table at most half full so probes stay short
+        int capacity = Integer.highestOneBit(Board.MAX_SIZE) * 2;
+        this.signatures = new long[capacity];
+        this.lines = new int[capacity];
+        this.counts = new int[capacity];
+        this.shift = Long.SIZE - Integer.numberOfTrailingZeros(capacity);
+        clear();
+    }
+
+    /**
+     * Forget every line added since the last clear.
+     */
+    public void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+    /**
+     * @return the slot holding {@code signature} or the empty slot where it belongs.
+     */
+    private int slotOf(long signature) {
+        int slot = home(signature);
+        while (counts[slot] != 0 && signatures[slot] != signature)
+            slot = (slot + 1) & (counts.length - 1);
+        return slot;
+    }
+
+    private int home(long signature) {
+        return (int) ((signature * 0x9E3779B97F4A7C15L) >>> shift);
+    }
+
+    /**
+     * Add a line to the index.
+     * @param signature the signature of the line, lines are identical if their signatures are.
+     * @param line the index of the line.
+     * @return the index of a line added before with the same signature or -1 if there is none.
+     */
+    public int add(long signature, int line) {
+        int slot = slotOf(signature);
+        if (counts[slot] != 0) return lines[slot];
+        signatures[slot] = signature;
+        lines[slot] = line;
+        counts[slot] = 1;
+        return NO_LINE;
+    }
+
+    /**
+     * Count one more line with {@code signature}.
+     * @return the number of lines with the signature, including this one.
+     */
+    public int increment(long signature) {
+        int slot = slotOf(signature);
+        if (counts[slot] == 0) {
+            signatures[slot] = signature;
+            lines[slot] = NO_LINE;
+        }
+        return ++counts[slot];
+    }
+
+    /**
+     * Count one less line with {@code signature}. The signature is forgotten when no line has it.
+     * @return the number of lines left with the signature.
+     * @throws IllegalStateException if no line has the signature.
+     */
+    public int decrement(long signature) {
+        int slot = slotOf(signature);
+        if (counts[slot] == 0) throw new IllegalStateException("No line with signature "+signature);
+        int count = --counts[slot];
+        if (count == 0) remove(slot);
+        return count;
+    }
+
+    /**
+     * @return the number of lines with {@code signature}.
+     */
+    public int count(long signature) {
+        return counts[slotOf(signature)];
+    }
+
+    /**
+     * Empty a slot, moving back the signatures further along the probe sequence so
+     * they can still be found without leaving a marker behind.
+     */
+    private void remove(int slot) {
+        int mask = counts.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; counts[next] != 0; next = (next + 1) & mask) {
+            //The signature may only move back if the hole is between its home and its slot
+            if (((next - home(signatures[next])) & mask) < ((next - hole) & mask)) continue;
+            signatures[hole] = signatures[next];
+            lines[hole] = lines[next];
+            counts[hole] = counts[next];
+            hole = next;
+        }
+        counts[hole] = 0;
+    }
+
+    /**
+     * Check if all the given lines are different.
+     * @param signatures the signatures of the lines.
+     * @param count the number of lines to check, starting at the first one.
+     * @return true if no two of the first {@code count} signatures are the same.
+     */
+    public boolean areUnique(long[] signatures, int count) {
+        clear();
+        for (int line = 0; line < count; line++) {
+            if (add(signatures[line], line) != NO_LINE) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Find two identical full rows, visiting the rows from {@code start}.
+     * @param board the board to check.
+     * @param start the first row to visit.
+     * @return the two rows packed as {@code (long) row << 32 | other} or {@link #NO_DUPLICATE}.
+     */
+    public long duplicateRows(Board board, int start) {
+        clear();
+        for (int offset = 0; offset < board.getSize(); offset++) {
+            int row = (start + offset) % board.getSize();
+            long red = board.getRowMask(row, RED);
+            if ((red | board.getRowMask(row, BLUE)) != board.getFullMask()) continue;
+            int other = add(red, row);
+            if (other != NO_LINE) return (long) other << 32 | row;
+        }
+        return NO_DUPLICATE;
+    }
+
+    /**
+     * Find two identical full columns, visiting the columns from {@code start}.
+     * @param board the board to check.
+     * @param start the first column to visit.
+     * @return the two columns packed as {@code (long) column << 32 | other} or {@link #NO_DUPLICATE}.
+     */
+    public long duplicateColumns(Board board, int start) {
+        clear();
+        for (int offset = 0; offset < board.getSize(); offset++) {
+            int column = (start + offset) % board.getSize();
+            long red = board.getColumnMask(column, RED);
+            if ((red | board.getColumnMask(column, BLUE)) != board.getFullMask()) continue;
+            int other = add(red, column);
+            if (other != NO_LINE) return (long) other << 32 | column;
+        }
+        return NO_DUPLICATE;
+    }
+}
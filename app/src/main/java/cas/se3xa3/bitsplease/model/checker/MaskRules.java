@@ -0,0 +1,150 @@
+package cas.se3xa3.bitsplease.model.checker;
+
+import cas.se3xa3.bitsplease.model.Board;
+
+import java.util.Random;
+
+import static cas.se3xa3.bitsplease.model.LineMasks.*;
+import static cas.se3xa3.bitsplease.model.Tile.*;
+import static cas.se3xa3.bitsplease.model.checker.Result.State.*;
+
+/**
+ * Created on 17/10/2026.
+ * The {@link Rules} implemented on the row and column masks of the board. A rule that
+ * holds allocates nothing and returns a shared {@link Result} which must not be modified.
+ * A rule that is violated reports the violating tiles as a mask, see
+ * {@link Result#withErrorMask(Result.State, String, long[])}.<br>
+ * The messages and the violations reported are the same as the ones from {@link Rules}.
+ */
+public class MaskRules {
+    private static final Random r = new Random(System.currentTimeMillis());
+    //Indexes hold state during a check so each thread gets its own
+    private static final ThreadLocal<LineIndex> LINES = ThreadLocal.withInitial(LineIndex::new);
+    //The line tests of randomLine
+    private static final int BAD_COUNT = 0;
+    private static final int RUN = 1;
+
+    private static final Result ALL_TILES_FULL = new Result(SATISFIES, "All tiles full", null);
+    private static final Result ROW_SUMS = new Result(SATISFIES, "Rows have successful or potentially successful sums", null);
+    private static final Result COLUMN_SUMS = new Result(SATISFIES, "Columns have successful or potentially successful sums", null);
+    private static final Result ROW_RUNS = new Result(SATISFIES, "No rows contain more than 2 consecutive non-empty tiles", null);
+    private static final Result COLUMN_RUNS = new Result(SATISFIES, "No columns contain more than 2 consecutive non-empty tiles", null);
+    private static final Result ROWS_DIFFERENT = new Result(SATISFIES, "No identical rows", null);
+    private static final Result COLUMNS_DIFFERENT = new Result(SATISFIES, "No identical columns", null);
+
+    public static final Rule NO_EMPTY_TILES = board -> {
+        long[] empties = null;
+        for (int row = 0; row < board.getSize(); row++) {
+            long empty = board.getRowMask(row, EMPTY);
+            if (empty == 0) continue;
+            if (empties == null) empties = new long[board.getSize()];
+            empties[row] = empty;
+        }
+        if (empties == null) return ALL_TILES_FULL;
+        else                 return Result.withErrorMask(VIOLATES, "Board contains empty tiles", empties);
+    };
+
+    public static final Rule EQUAL_TILE_COUNT_ROW = board -> {
+        int row = randomLine(board, true, BAD_COUNT);
+        if (row == -1) return ROW_SUMS;
+        return Result.withErrorMask(VIOLATES, String.format("Row %d: Incorrect tile sum", row+1), rowMask(board, row, board.getFullMask()));
+    };
+
+    public static final Rule EQUAL_TILE_COUNT_COLUMN = board -> {
+        int column = randomLine(board, false, BAD_COUNT);
+        if (column == -1) return COLUMN_SUMS;
+        return Result.withErrorMask(VIOLATES, String.format("Column %d: Incorrect tile sum", column+1), columnMask(board, column, board.getFullMask()));
+    };
+
+    public static final Rule MAX_2_CONSECUTIVE_ROW = board -> {
+        int row = randomLine(board, true, RUN);
+        if (row == -1) return ROW_RUNS;
+        long red = board.getRowMask(row, RED);
+        long run = firstRun(red, board.getRowMask(row, BLUE));
+        return Result.withErrorMask(VIOLATES,
+                String.format("Row %d: Too many consecutive %s in a row", row+1, ((run & red) != 0 ? RED : BLUE).name().toLowerCase()),
+                rowMask(board, row, run));
+    };
+
+    public static final Rule MAX_2_CONSECUTIVE_COLUMN = board -> {
+        int column = randomLine(board, false, RUN);
+        if (column == -1) return COLUMN_RUNS;
+        long red = board.getColumnMask(column, RED);
+        long run = firstRun(red, board.getColumnMask(column, BLUE));
+        return Result.withErrorMask(VIOLATES,
+                String.format("Column %d: Too many consecutive %s in a column", column+1, ((run & red) != 0 ? RED : BLUE).name().toLowerCase()),
+                columnMask(board, column, run));
+    };
+
+    public static final Rule NO_IDENTICAL_ROWS = board -> {
+        if (board.getSize() == 0) return ROWS_DIFFERENT;
+        long rowPair = LINES.get().duplicateRows(board, r.nextInt(board.getSize()));
+        if (rowPair == LineIndex.NO_DUPLICATE) return ROWS_DIFFERENT;
+        int row = (int) (rowPair >>> 32);
+        int other = (int) rowPair;
+        long[] coords = rowMask(board, row, board.getFullMask());
+        coords[other] = board.getFullMask();
+        return Result.withErrorMask(VIOLATES, String.format("Row %d & Row %d: Identical", row+1, other+1), coords);
+    };
+
+    public static final Rule NO_IDENTICAL_COLUMNS = board -> {
+        if (board.getSize() == 0) return COLUMNS_DIFFERENT;
+        long columnPair = LINES.get().duplicateColumns(board, r.nextInt(board.getSize()));
+        if (columnPair == LineIndex.NO_DUPLICATE) return COLUMNS_DIFFERENT;
+        int column = (int) (columnPair >>> 32);
+        int other = (int) columnPair;
+        long[] coords = columnMask(board, column, board.getFullMask());
+        for (int row = 0; row < board.getSize(); row++) coords[row] |= 1L << other;
+        return Result.withErrorMask(VIOLATES, String.format("Column %d & Column %d: Identical", column+1, other+1), coords);
+    };
+
+    /**
+     * Find a line that fails {@code test}, starting the search at a random line. Nothing
+     * is allocated so a rule that holds costs no garbage.
+     * @param rows true to search the rows, false to search the columns.
+     * @param test {@link #BAD_COUNT} or {@link #RUN}.
+     * @return the index of the line or -1 if none fail the test.
+     */
+    private static int randomLine(Board board, boolean rows, int test) {
+        int size = board.getSize();
+        if (size == 0) return -1;
+        int start = r.nextInt(size);
+        for (int offset = 0; offset < size; offset++) {
+            int line = (start + offset) % size;
+            long red = rows ? board.getRowMask(line, RED) : board.getColumnMask(line, RED);
+            long blue = rows ? board.getRowMask(line, BLUE) : board.getColumnMask(line, BLUE);
+            boolean violates = test == BAD_COUNT
+                    ? Long.bitCount(red) > size / 2 || Long.bitCount(blue) > size / 2
+                    : hasRunOfThree(red) || hasRunOfThree(blue);
+            if (violates) return line;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the run of 3 or more closest to the start of the line.
+     */
+    private static long firstRun(long red, long blue) {
+        long runs = runsOfThree(red) | runsOfThree(blue);
+        int start = Long.numberOfTrailingZeros(runs);
+        long color = ((red >>> start) & 1) != 0 ? red : blue;
+        //Extend from the first tile while the color continues
+        long run = 0L;
+        for (int position = start; position < Long.SIZE && ((color >>> position) & 1) != 0; position++)
+            run |= 1L << position;
+        return run;
+    }
+
+    private static long[] rowMask(Board board, int row, long columns) {
+        long[] mask = new long[board.getSize()];
+        mask[row] = columns;
+        return mask;
+    }
+
+    private static long[] columnMask(Board board, int column, long rows) {
+        long[] mask = new long[board.getSize()];
+        for (long cells = rows; cells != 0; cells &= cells - 1)
+            mask[Long.numberOfTrailingZeros(cells)] |= 1L << column;
+        return mask;
+    }
+}
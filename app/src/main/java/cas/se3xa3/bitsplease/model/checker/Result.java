@@ -3,6 +3,7 @@ package cas.se3xa3.bitsplease.model.checker;
 import cas.se3xa3.bitsplease.model.Board;
 import cas.se3xa3.bitsplease.model.Coordinate;
 
+import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -17,6 +18,8 @@ public class Result {
     private State resultState;
     private String message;
     private Set<Coordinate> errorCoords;
+    //Bit column of errorMask[row] is set for every violating tile, turned into errorCoords on demand
+    private long[] errorMask;
 
     public Result(State resultState, String message, Set<Coordinate> errorCoords) {
         this.resultState = resultState;
@@ -24,6 +27,21 @@ public class Result {
         this.errorCoords = errorCoords;
     }
 
+    /**
+     * Create a result with the violating tiles given as a mask for every row. The
+     * {@link Coordinate}s are only created if {@link Result#getErrorCoords()} is called.
+     * @param resultState the state of the result.
+     * @param message a short message describing the result.
+     * @param errorMask bit {@code column} of {@code errorMask[row]} is set if the tile at
+     *                  {@code (row, column)} violates the rule. Null if there are none.
+     * @return the result.
+     */
+    public static Result withErrorMask(State resultState, String message, long[] errorMask) {
+        Result result = new Result(resultState, message, null);
+        result.errorMask = errorMask;
+        return result;
+    }
+
     /**
      * Get the state of this result. One of  or
      * @return {@link State#SATISFIES} if the rule holds and {@link State#VIOLATES} if the rule doesn't
@@ -54,10 +72,29 @@ public class Result {
      * or null if {@link Result#getResultState()} == {@link State#SATISFIES}.
      */
     public Set<Coordinate> getErrorCoords() {
+        if (errorCoords == null && errorMask != null) {
+            Set<Coordinate> coords = new HashSet<>();
+            for (int row = 0; row < errorMask.length; row++) {
+                for (long columns = errorMask[row]; columns != 0; columns &= columns - 1)
+                    coords.add(new Coordinate(row, Long.numberOfTrailingZeros(columns)));
+            }
+            errorCoords = coords;
+        }
         return errorCoords;
     }
 
+    /**
+     * The violating tiles as a mask for every row, if this result was created with
+     * {@link Result#withErrorMask(State, String, long[])}.
+     * @return the masks with bit {@code column} of element {@code row} set for every
+     * violating tile or null if the result was not created from masks.
+     */
+    public long[] getErrorMask() {
+        return errorMask;
+    }
+
     public void setErrorCoords(Set<Coordinate> errorCoords) {
         this.errorCoords = errorCoords;
+        this.errorMask = null;
     }
 }
@@ -66,14 +66,13 @@ public class SimpleRules {
                 && board.countTypeInColumn(index, BLUE) <= board.getSize() / 2
         );
 
+    //Indexes hold state during a check so each thread gets its own
+    private static final ThreadLocal<LineIndex> LINES = ThreadLocal.withInitial(LineIndex::new);
+
     /**
-     * Verify that no identical rows or columns are the same.
+     * Verify that no two full rows or two full columns are the same.
      */
-    public static final SimpleRule NO_IDENTICAL_ROWS_OR_COLUMNS = board -> IntStream.range(0, board.getSize()).map(row -> IntStream.range(0, board.getSize()).reduce(0, (serRow, col) -> {
-        if (board.getTileAt(row, col) == RED) return serRow | (1 << col);
-        else return serRow;
-    })).distinct().count() == board.getSize() && IntStream.range(0, board.getSize()).map(col -> IntStream.range(0, board.getSize()).reduce(0, (serCol, row) -> {
-        if (board.getTileAt(row, col) == RED) return serCol | (1 << col);
-        else return serCol;
-    })).distinct().count() == board.getSize();
+    public static final SimpleRule NO_IDENTICAL_ROWS_OR_COLUMNS = board ->
+            LINES.get().duplicateRows(board, 0) == LineIndex.NO_DUPLICATE
+            && LINES.get().duplicateColumns(board, 0) == LineIndex.NO_DUPLICATE;
 }
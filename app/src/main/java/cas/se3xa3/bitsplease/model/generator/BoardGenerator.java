@@ -4,13 +4,24 @@ import cas.se3xa3.bitsplease.model.Board;
 import cas.se3xa3.bitsplease.model.Coordinate;
 import cas.se3xa3.bitsplease.model.Tile;
 import cas.se3xa3.bitsplease.model.solver.BoardSolver;
+import cas.se3xa3.bitsplease.model.solver.ConstraintSolver;
+import cas.se3xa3.bitsplease.model.solver.SolveTrace;
+import cas.se3xa3.bitsplease.model.solver.Technique;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
  * Created on 30/10/2015.
- * Generates solvable boards via the {@link BoardGenerator#generate(int)} method.
+ * Generates solvable boards via the {@link BoardGenerator#generate(int)} method.<br>
+ * Instances are not thread safe. {@link BoardGenerator#generate(int, ForkJoinPool)} spreads
+ * the work of a single board over a pool.
  */
 public class BoardGenerator {
     /**
@@ -28,32 +39,70 @@ public class BoardGenerator {
      */
     private static final int ATTEMPTS_TO_SOLVE = 6;
 
+    /**
+     * Boards of this size and larger are reduced to what can be solved without guessing.
+     */
+    private static final int LOGICAL_SIZE = 14;
+
+    /**
+     * The max number of attempts to remove another tile from a board of {@link #LOGICAL_SIZE} or larger.
+     */
+    private static final int ATTEMPTS_TO_DEDUCE = 16;
+
+    /**
+     * The number of lines, per row of the board, looked at to deduce a removed tile.
+     */
+    private static final int DEDUCTION_LINES_PER_ROW = 4;
+
+    /**
+     * The smallest size of the generated boards.
+     */
+    public static final int MIN_SIZE = 4;
+
+    /**
+     * The largest size of the generated boards.
+     */
+    public static final int MAX_SIZE = Board.MAX_SIZE;
+
+    //Solvers of the pool threads running removal attempts, indexed (size / 2) - 2 like solvers
+    private static final ThreadLocal<ConstraintSolver[]> WORKER_SOLVERS =
+            ThreadLocal.withInitial(() -> new ConstraintSolver[(MAX_SIZE / 2) - 1]);
+
+    //Created the first time a size is generated, indexed (size / 2) - 2
     private SolvedBoardGenerator[] solvedBoardGenerators;
+    private ConstraintSolver[] solvers;
     private Random random = new Random(System.currentTimeMillis());
 
     public BoardGenerator() {
-        solvedBoardGenerators = new SolvedBoardGenerator[5];
-        IntStream.of(4, 6, 8, 10, 12)
-                .forEach(size -> solvedBoardGenerators[(size / 2) - 2] = new SolvedBoardGenerator(size));
+        solvedBoardGenerators = new SolvedBoardGenerator[(MAX_SIZE / 2) - 1];
+        solvers = new ConstraintSolver[(MAX_SIZE / 2) - 1];
     }
 
     private SolvedBoardGenerator getGenerator(int size) {
+        if (solvedBoardGenerators[(size / 2) - 2] == null)
+            solvedBoardGenerators[(size / 2) - 2] = new SolvedBoardGenerator(size);
         return solvedBoardGenerators[(size / 2) - 2];
     }
 
+    private ConstraintSolver getSolver(int size) {
+        if (solvers[(size / 2) - 2] == null) solvers[(size / 2) - 2] = new ConstraintSolver(size);
+        return solvers[(size / 2) - 2];
+    }
+
     /**
      * Check if the generator can generate a board of the given size.
      * @param size the size to check.
-     * @return true if this generator can generate a board of size {@code size}.
+     * @return true if this generator can generate a board of size {@code size}, an even
+     * size from {@link #MIN_SIZE} to {@link #MAX_SIZE}.
      */
     public boolean isAcceptedSize(int size) {
-        return !(size < 0 || size%2 == 1 || ((size / 2) - 2) > solvedBoardGenerators.length);
+        return size >= MIN_SIZE && size <= MAX_SIZE && size % 2 == 0;
     }
 
     /**
      * Generate a board of size {@code size}.
      * @param size the size of the generated board.
-     * @return a starter puzzle that can be solved with the starting tiles locked.
+     * @return a starter puzzle with exactly one solution when the starting tiles are locked.
      * See {@link Board#isLocked(int, int)} to check if a tile is locked.<br>
      * See {@link BoardSolver} for a board solver implementation.<br>
      * @throws IllegalArgumentException if !{@link BoardGenerator#isAcceptedSize(int)}.
@@ -61,62 +110,290 @@ public class BoardGenerator {
     public Board generate(int size) {
         if (!isAcceptedSize(size)) throw new IllegalArgumentException("Invalid size. " + size);
         //Generate a new solved board.
-        Board solvedBoard = getGenerator(size).generateBoard();
-        //Take pieces away until it is acceptable
-        Board bestBoard = null;
-        Queue<Coordinate> coordsToPull = null;
-        int attempts = 0;
-        while (attempts++ < ATTEMPTS_FOR_QUALITY) {
-            Board workingBoard = solvedBoard.copy();
-            BoardSolver solver = new BoardSolver(workingBoard);
-            coordsToPull = buildCoordsToPull(size);
-            Set<Coordinate> removed = new HashSet<>();
-            int failedAttempts = 0;
-            while(!coordsToPull.isEmpty() && failedAttempts < ATTEMPTS_TO_SOLVE) {
-                Coordinate toErase = coordsToPull.poll();
-                Tile removedTile = workingBoard.setTileAt(toErase.getRow(), toErase.getColumn(), Tile.EMPTY);
-                if (solver.tryToSolve()) {
-                    //It is solvable, take all the removed tiles back
-                    removed.add(toErase);
-                    restore(removed, workingBoard);
-                    failedAttempts = 0;
-                } else {
-                    //Not solvable, put the piece back
-                    restore(removed, workingBoard);
-                    workingBoard.setTileAt(toErase.getRow(), toErase.getColumn(), removedTile);
-                    failedAttempts++;
-                }
+        return reduce(getGenerator(size).generateBoard(), random.nextLong());
+    }
+
+    /**
+     * Generate the board of size {@code size} identified by {@code seed}. The same size
+     * and seed always give the same board.
+     * @param size the size of the generated board.
+     * @param seed the seed of the board.
+     * @return a starter puzzle as described by {@link BoardGenerator#generate(int)}.
+     * @throws IllegalArgumentException if !{@link BoardGenerator#isAcceptedSize(int)}.
+     */
+    public Board generate(int size, long seed) {
+        if (!isAcceptedSize(size)) throw new IllegalArgumentException("Invalid size. " + size);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        return reduce(getGenerator(size).generateBoard(seeds.nextLong()), seeds.nextLong());
+    }
+
+    /**
+     * Generate the board identified by {@code id}.
+     * @param id the size and seed of the board.
+     * @return a starter puzzle as described by {@link BoardGenerator#generate(int)}.
+     * @throws IllegalArgumentException if !{@link BoardGenerator#isAcceptedSize(int)}.
+     */
+    public Board generate(PuzzleId id) {
+        return generate(id.getSize(), id.getSeed());
+    }
+
+    /**
+     * Generate a board of size {@code size}, running the attempts to remove tiles
+     * in parallel on {@code pool}. Once an attempt reaches the desired quality every
+     * attempt after it is abandoned, so the board picked is the same one
+     * {@link BoardGenerator#generate(int)} would pick from the same attempts.
+     * @param size the size of the generated board.
+     * @param pool the pool to run the attempts on.
+     * @return a starter puzzle as described by {@link BoardGenerator#generate(int)}.
+     * @throws IllegalArgumentException if !{@link BoardGenerator#isAcceptedSize(int)}.
+     */
+    public Board generate(int size, ForkJoinPool pool) {
+        if (!isAcceptedSize(size)) throw new IllegalArgumentException("Invalid size. " + size);
+        return reduce(getGenerator(size).generateBoard(), random.nextLong(), pool);
+    }
+
+    /**
+     * Generate the board of size {@code size} identified by {@code seed}, running the
+     * attempts to remove tiles in parallel on {@code pool}. The board is the same one
+     * {@link BoardGenerator#generate(int, long)} returns.
+     * @param size the size of the generated board.
+     * @param seed the seed of the board.
+     * @param pool the pool to run the attempts on.
+     * @return a starter puzzle as described by {@link BoardGenerator#generate(int)}.
+     * @throws IllegalArgumentException if !{@link BoardGenerator#isAcceptedSize(int)}.
+     */
+    public Board generate(int size, long seed, ForkJoinPool pool) {
+        if (!isAcceptedSize(size)) throw new IllegalArgumentException("Invalid size. " + size);
+        SplittableRandom seeds = new SplittableRandom(seed);
+        return reduce(getGenerator(size).generateBoard(seeds.nextLong()), seeds.nextLong(), pool);
+    }
+
+    /**
+     * Generate a board of size {@code size} that grades as {@code difficulty}. Tiles are
+     * only taken away while they can be put back with the techniques of that difficulty,
+     * so no board is harder than asked for. Solved boards are reduced one after the other
+     * until one is hard enough or {@code budgetMillis} runs out.
+     * @param size the size of the generated board.
+     * @param difficulty the difficulty of the board. Boards of {@link #LOGICAL_SIZE} and
+     *                   larger are never {@link Difficulty#EXPERT}, they are made
+     *                   {@link Difficulty#HARD} instead.
+     * @param budgetMillis the time after which the hardest board found is returned, even
+     *                     if it is easier than {@code difficulty}. At least one board is
+     *                     always generated.
+     * @return a starter puzzle as described by {@link BoardGenerator#generate(int)}.
+     * @throws IllegalArgumentException if !{@link BoardGenerator#isAcceptedSize(int)} or budgetMillis < 0.
+     */
+    public Board generate(int size, Difficulty difficulty, long budgetMillis) {
+        return generate(size, new SplittableRandom(random.nextLong()), difficulty, budgetMillis);
+    }
+
+    /**
+     * Generate the board of size {@code size} identified by {@code seed} that grades as
+     * {@code difficulty}, see {@link #generate(int, Difficulty, long)}. The solved boards are
+     * tried in an order fixed by the seed, so the same size, seed and difficulty give the
+     * same board whenever a board of that difficulty is found within the budget. If the
+     * budget runs out first, the board returned depends on how many boards were tried in
+     * time and can differ from one call to the next.
+     * @param size the size of the generated board.
+     * @param seed the seed of the board, for example {@link PuzzleId#getSeed()}.
+     * @param difficulty the difficulty of the board.
+     * @param budgetMillis the time after which the hardest board found is returned.
+     * @return a starter puzzle as described by {@link BoardGenerator#generate(int)}.
+     * @throws IllegalArgumentException if !{@link BoardGenerator#isAcceptedSize(int)} or budgetMillis < 0.
+     */
+    public Board generate(int size, long seed, Difficulty difficulty, long budgetMillis) {
+        return generate(size, new SplittableRandom(seed), difficulty, budgetMillis);
+    }
+
+    private Board generate(int size, SplittableRandom seeds, Difficulty difficulty, long budgetMillis) {
+        if (!isAcceptedSize(size)) throw new IllegalArgumentException("Invalid size. " + size);
+        if (budgetMillis < 0) throw new IllegalArgumentException("budgetMillis must be >= 0 but was "+budgetMillis);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+        //Large boards are only reduced by deduction, the closest they get is hard
+        Difficulty target = size >= LOGICAL_SIZE && difficulty == Difficulty.EXPERT ? Difficulty.HARD : difficulty;
+        ConstraintSolver solver = getSolver(size);
+        Board best = null;
+        Difficulty bestDifficulty = null;
+        do {
+            Board board = removeTiles(getGenerator(size).generateBoard(seeds.nextLong()), solver, new Random(seeds.nextLong()),
+                    () -> false, target.getHardest());
+            SolveTrace trace = solver.trace(board);
+            Difficulty reached = Difficulty.of(trace);
+            //Boards are never harder than asked for, the hardest one is the closest
+            if (best == null || reached.compareTo(bestDifficulty) > 0
+                    || reached == bestDifficulty && board.percentageSolved() < best.percentageSolved()) {
+                best = board;
+                bestDifficulty = reached;
+            }
+        } while (bestDifficulty != target && System.nanoTime() < deadline);
+        lockRemaining(best);
+        return best;
+    }
+
+    /**
+     * Take pieces away from {@code solvedBoard} until it is acceptable.
+     */
+    private Board reduce(Board solvedBoard, long seed) {
+        long[] seeds = attemptSeeds(seed);
+        Board[] attempts = new Board[ATTEMPTS_FOR_QUALITY];
+        ConstraintSolver solver = getSolver(solvedBoard.getSize());
+        for (int attempt = 0; attempt < ATTEMPTS_FOR_QUALITY; attempt++) {
+            attempts[attempt] = removeTiles(solvedBoard, solver, new Random(seeds[attempt]), () -> false, Technique.SEARCH);
+            //Is this board good enough to stop?
+            if (attempts[attempt].percentageSolved() < MAX_SOLVED_THRESHOLD) break;
+        }
+        return pickBest(attempts);
+    }
+
+    /**
+     * Take pieces away from {@code solvedBoard} until it is acceptable, running the attempts on {@code pool}.
+     */
+    private static Board reduce(Board solvedBoard, long seed, ForkJoinPool pool) {
+        long[] seeds = attemptSeeds(seed);
+        Board[] attempts = new Board[ATTEMPTS_FOR_QUALITY];
+        //The first attempt to reach the desired quality
+        AtomicInteger firstGoodAttempt = new AtomicInteger(ATTEMPTS_FOR_QUALITY);
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                invokeAll(IntStream.range(0, ATTEMPTS_FOR_QUALITY)
+                        .mapToObj(attempt -> new RemovalAttempt(solvedBoard, seeds, attempt, attempts, firstGoodAttempt))
+                        .collect(Collectors.toList()));
+            }
+        });
+        return pickBest(attempts);
+    }
+
+    /**
+     * A single attempt to remove tiles from a solved board, run on a {@link ForkJoinPool}.
+     */
+    private static class RemovalAttempt extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Board solvedBoard;
+        private final long[] seeds;
+        private final int attempt;
+        private final Board[] attempts;
+        private final AtomicInteger firstGoodAttempt;
+
+        private RemovalAttempt(Board solvedBoard, long[] seeds, int attempt, Board[] attempts, AtomicInteger firstGoodAttempt) {
+            this.solvedBoard = solvedBoard;
+            this.seeds = seeds;
+            this.attempt = attempt;
+            this.attempts = attempts;
+            this.firstGoodAttempt = firstGoodAttempt;
+        }
+
+        @Override
+        protected void compute() {
+            //An earlier attempt is already good enough
+            BooleanSupplier abandoned = () -> firstGoodAttempt.get() < attempt;
+            if (abandoned.getAsBoolean()) return;
+            //Solvers are not thread safe, each pool thread keeps its own so their caches carry over
+            ConstraintSolver[] solvers = WORKER_SOLVERS.get();
+            int index = (solvedBoard.getSize() / 2) - 2;
+            if (solvers[index] == null) solvers[index] = new ConstraintSolver(solvedBoard.getSize());
+            ConstraintSolver solver = solvers[index];
+            Board board = removeTiles(solvedBoard, solver, new Random(seeds[attempt]), abandoned, Technique.SEARCH);
+            if (board == null) return;
+            attempts[attempt] = board;
+            if (board.percentageSolved() < MAX_SOLVED_THRESHOLD)
+                firstGoodAttempt.accumulateAndGet(attempt, Math::min);
+        }
+    }
+
+    /**
+     * Derive an independent seed for every attempt so the attempts don't depend on
+     * the order they are run in.
+     */
+    private static long[] attemptSeeds(long seed) {
+        SplittableRandom seeds = new SplittableRandom(seed);
+        long[] attemptSeeds = new long[ATTEMPTS_FOR_QUALITY];
+        for (int attempt = 0; attempt < ATTEMPTS_FOR_QUALITY; attempt++) attemptSeeds[attempt] = seeds.nextLong();
+        return attemptSeeds;
+    }
+
+    /**
+     * Take tiles away from a copy of {@code solvedBoard} in a random order for as long
+     * as the board keeps exactly one solution.
+     * @param hardest the hardest technique that may be needed to put a tile back.
+     * @return the board with its tiles taken away or null if the attempt was abandoned.
+     */
+    private static Board removeTiles(Board solvedBoard, ConstraintSolver solver, Random random, BooleanSupplier abandoned,
+                                     Technique hardest) {
+        int size = solvedBoard.getSize();
+        Board workingBoard = solvedBoard.copy();
+        Queue<Coordinate> coordsToPull = buildCoordsToPull(size, random);
+        int failedAttempts = 0;
+        while(!coordsToPull.isEmpty() && failedAttempts < (size >= LOGICAL_SIZE ? ATTEMPTS_TO_DEDUCE : ATTEMPTS_TO_SOLVE)) {
+            if (abandoned.getAsBoolean()) return null;
+            Coordinate toErase = coordsToPull.poll();
+            Tile removedTile = workingBoard.setTileAt(toErase.getRow(), toErase.getColumn(), Tile.EMPTY);
+            if (hasOneSolution(workingBoard, toErase, removedTile, solver, hardest)) {
+                //There is still only one solution, leave the tile out
+                failedAttempts = 0;
+            } else {
+                //Too many solutions, put the piece back
+                workingBoard.setTileAt(toErase.getRow(), toErase.getColumn(), removedTile);
+                failedAttempts++;
             }
+        }
+        return workingBoard;
+    }
+
+    /**
+     * Check that {@code board} still has exactly one solution after {@code removedTile} at
+     * {@code erased} was taken away. The board had a single solution before, so it still
+     * does if no solution has the other color at {@code erased}. Proving that can still take
+     * very long on large boards, so from {@link #LOGICAL_SIZE} up the tile must instead
+     * follow from the others by a short deduction. Every tile taken away can then be put
+     * back in the reverse order by deduction, so the board can be solved without guessing.
+     * The same goes for any {@code hardest} technique short of {@link Technique#SEARCH}.
+     */
+    private static boolean hasOneSolution(Board board, Coordinate erased, Tile removedTile, ConstraintSolver solver,
+                                          Technique hardest) {
+        if (hardest != Technique.SEARCH) {
+            int maxLines = board.getSize() >= LOGICAL_SIZE ? DEDUCTION_LINES_PER_ROW * board.getSize() : Integer.MAX_VALUE;
+            return solver.isDeducible(board, erased.getRow(), erased.getColumn(), maxLines, hardest);
+        }
+        if (board.getSize() >= LOGICAL_SIZE)
+            return solver.isDeducible(board, erased.getRow(), erased.getColumn(), DEDUCTION_LINES_PER_ROW * board.getSize());
+        return solver.isForced(board, erased.getRow(), erased.getColumn(), removedTile);
+    }
+
+    /**
+     * Pick the first attempt that reached the desired quality or else the one with the fewest tiles.
+     */
+    private static Board pickBest(Board[] attempts) {
+        Board bestBoard = null;
+        for (Board board : attempts) {
+            if (board == null) continue;
             //Is this board good enough to stop?
-            if (workingBoard.percentageSolved() < MAX_SOLVED_THRESHOLD) {
+            if (board.percentageSolved() < MAX_SOLVED_THRESHOLD) {
                 //We did it!
-                bestBoard = workingBoard;
+                bestBoard = board;
                 break;
             }
             //Nope, it might be the best we have done though
-            if (bestBoard == null || bestBoard.percentageSolved() < workingBoard.percentageSolved()) {
-                bestBoard = workingBoard;
+            if (bestBoard == null || board.percentageSolved() < bestBoard.percentageSolved()) {
+                bestBoard = board;
             }
         }
         lockRemaining(bestBoard);
         return bestBoard;
     }
 
-    private Queue<Coordinate> buildCoordsToPull(int size) {
+    private static Queue<Coordinate> buildCoordsToPull(int size, Random random) {
         LinkedList<Coordinate> coords = new LinkedList<>();
         IntStream.range(0, size * size)
                 .forEach(coordData -> coords.offer(new Coordinate(coordData % size, coordData / size)));
-        Collections.shuffle(coords);
+        Collections.shuffle(coords, random);
         return coords;
     }
 
-    private void lockRemaining(Board board) {
+    private static void lockRemaining(Board board) {
         IntStream.range(0, board.getSize() * board.getSize())
                 .filter(coordData -> board.getTileAt(coordData % board.getSize(), coordData / board.getSize()) != Tile.EMPTY)
                 .forEach(coordData -> board.setLockAt(coordData % board.getSize(), coordData / board.getSize(), true));
     }
-
-    private void restore(Set<Coordinate> empties, Board board) {
-        empties.stream().forEach(coord -> board.setTileAt(coord.getRow(), coord.getColumn(), Tile.EMPTY));
-    }
 }
@@ -0,0 +1,58 @@
+package cas.se3xa3.bitsplease.model.generator;
+
+import cas.se3xa3.bitsplease.model.solver.SolveTrace;
+import cas.se3xa3.bitsplease.model.solver.Technique;
+
+/**
+ * Created on 17/10/2026.
+ * How hard a puzzle is, graded by the hardest {@link Technique} needed to solve it.
+ * See {@link BoardGenerator#generate(int, Difficulty, long)}.
+ */
+public enum Difficulty {
+    /**
+     * Solved with duos, trios and counting colors.
+     */
+    EASY(Technique.COLUMN_COUNT),
+    /**
+     * Needs rows or columns to be kept different.
+     */
+    MEDIUM(Technique.UNIQUE_COLUMN),
+    /**
+     * Needs looking ahead at every way to finish a line.
+     */
+    HARD(Technique.LINE),
+    /**
+     * Needs guessing.
+     */
+    EXPERT(Technique.SEARCH);
+
+    private static final Difficulty[] DIFFICULTIES = values();
+
+    private final Technique hardest;
+
+    Difficulty(Technique hardest) {
+        this.hardest = hardest;
+    }
+
+    /**
+     * @return the hardest technique a puzzle of this difficulty needs.
+     */
+    public Technique getHardest() {
+        return hardest;
+    }
+
+    /**
+     * Grade a puzzle from the way it was solved.
+     * @param trace the trace of solving the puzzle. See
+     *              {@link cas.se3xa3.bitsplease.model.solver.ConstraintSolver#trace(cas.se3xa3.bitsplease.model.Board)}.
+     * @return the easiest difficulty that allows every technique in the trace.
+     */
+    public static Difficulty of(SolveTrace trace) {
+        Technique needed = trace.getHardest();
+        if (needed == null) return EASY;
+        for (Difficulty difficulty : DIFFICULTIES) {
+            if (needed.isAtMost(difficulty.hardest)) return difficulty;
+        }
+        return EXPERT;
+    }
+}
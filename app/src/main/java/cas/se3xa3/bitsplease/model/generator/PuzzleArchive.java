@@ -0,0 +1,249 @@
+package cas.se3xa3.bitsplease.model.generator;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Created on 17/10/2026.
+ * A file of puzzles grouped by size and {@link Difficulty}, read through a memory mapping
+ * so a single puzzle can be loaded from a pack of millions without reading the rest.<br>
+ * The file starts with a header indexing every group by size and difficulty, followed by
+ * the puzzles of each group one after the other. Every puzzle of a size takes the same
+ * number of bytes, 2 bits per tile holding its {@link Tile#ordinal()} followed by a bit
+ * per tile set if it is locked, both in row major order. Puzzle {@code k} of a group is
+ * then found directly from the start of the group. See {@link Writer} to create an archive.<br>
+ * Archives are read only and may be read from any number of threads.
+ */
+public class PuzzleArchive implements Closeable {
+    private static final int MAGIC = 0x30686831;
+    private static final int VERSION = 1;
+    //Magic, version, number of groups and a reserved int
+    private static final int HEADER_BYTES = 16;
+    //Size, difficulty, number of puzzles and offset of the first puzzle
+    private static final int GROUP_BYTES = 24;
+    //Groups are mapped in chunks since a single mapping can't exceed 2GB
+    private static final int CHUNK_BYTES = 1 << 30;
+    private static final Difficulty[] DIFFICULTIES = Difficulty.values();
+    private static final Tile[] TILES = Tile.values();
+
+    private final FileChannel channel;
+    private final Map<Integer, Group> groups;
+
+    /**
+     * The puzzles of a single size and difficulty.
+     */
+    private static class Group {
+        private final long count;
+        private final int recordBytes;
+        private final int recordsPerChunk;
+        private final MappedByteBuffer[] chunks;
+
+        private Group(FileChannel channel, int size, long count, long offset) throws IOException {
+            this.count = count;
+            this.recordBytes = recordBytes(size);
+            this.recordsPerChunk = CHUNK_BYTES / recordBytes;
+            this.chunks = new MappedByteBuffer[(int) ((count + recordsPerChunk - 1) / recordsPerChunk)];
+            for (int chunk = 0; chunk < chunks.length; chunk++) {
+                long records = Math.min(recordsPerChunk, count - (long) chunk * recordsPerChunk);
+                chunks[chunk] = channel.map(FileChannel.MapMode.READ_ONLY,
+                        offset + (long) chunk * recordsPerChunk * recordBytes, records * recordBytes);
+            }
+        }
+    }
+
+    private PuzzleArchive(FileChannel channel, Map<Integer, Group> groups) {
+        this.channel = channel;
+        this.groups = groups;
+    }
+
+    /**
+     * Open an archive written by a {@link Writer}. Only the header is read.
+     * @param file the archive.
+     * @return the archive, to be closed when done.
+     * @throws IOException if the file can't be read or is not a puzzle archive.
+     */
+    public static PuzzleArchive open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != MAGIC) throw new IOException("Not a puzzle archive. " + file);
+            if (header.getInt(4) != VERSION) throw new IOException("Unsupported archive version. " + header.getInt(4));
+            int groupCount = header.getInt(8);
+            if (groupCount < 0 || groupCount > channel.size() / GROUP_BYTES) throw new IOException("Corrupt puzzle archive. " + file);
+            ByteBuffer index = ByteBuffer.allocate(groupCount * GROUP_BYTES);
+            readFully(channel, index, HEADER_BYTES);
+            Map<Integer, Group> groups = new HashMap<>();
+            for (int group = 0; group < groupCount; group++) {
+                int size = index.getInt(group * GROUP_BYTES);
+                int difficulty = index.getInt(group * GROUP_BYTES + 4);
+                long count = index.getLong(group * GROUP_BYTES + 8);
+                long offset = index.getLong(group * GROUP_BYTES + 16);
+                if (size < 1 || size > Board.MAX_SIZE || difficulty < 0 || difficulty >= DIFFICULTIES.length
+                        || count < 0 || offset < 0 || offset + count * recordBytes(size) > channel.size())
+                    throw new IOException("Corrupt puzzle archive. " + file);
+                groups.put(key(size, DIFFICULTIES[difficulty]), new Group(channel, size, count, offset));
+            }
+            return new PuzzleArchive(channel, groups);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException("Truncated puzzle archive.");
+        }
+    }
+
+    private static int key(int size, Difficulty difficulty) {
+        return size * DIFFICULTIES.length + difficulty.ordinal();
+    }
+
+    private static int recordBytes(int size) {
+        int tiles = size * size;
+        return (tiles + 3) / 4 + (tiles + 7) / 8;
+    }
+
+    /**
+     * @param size the size of the puzzles.
+     * @param difficulty the difficulty of the puzzles.
+     * @return the number of puzzles of that size and difficulty.
+     */
+    public long getCount(int size, Difficulty difficulty) {
+        Group group = groups.get(key(size, difficulty));
+        return group == null ? 0 : group.count;
+    }
+
+    /**
+     * Load a single puzzle.
+     * @param size the size of the puzzle.
+     * @param difficulty the difficulty of the puzzle.
+     * @param index the index of the puzzle among those of the same size and difficulty.
+     * @return the puzzle, with its starting tiles locked.
+     * @throws IllegalArgumentException if index doesn't fall in the range {@code [0, getCount(size, difficulty))}
+     */
+    public Board get(int size, Difficulty difficulty, long index) {
+        Group group = groups.get(key(size, difficulty));
+        long count = group == null ? 0 : group.count;
+        if (index < 0 || index >= count)
+            throw new IllegalArgumentException("index must be in [0, "+count+") but was "+index);
+        ByteBuffer chunk = group.chunks[(int) (index / group.recordsPerChunk)];
+        int start = (int) (index % group.recordsPerChunk) * group.recordBytes;
+        int tiles = size * size;
+        int locks = start + (tiles + 3) / 4;
+        Board board = new Board(size);
+        for (int tile = 0; tile < tiles; tile++) {
+            int state = (chunk.get(start + (tile >> 2)) >>> ((tile & 3) * 2)) & 0x3;
+            if (state != Tile.EMPTY.ordinal()) board.setTileAt(tile / size, tile % size, TILES[state]);
+        }
+        for (int tile = 0; tile < tiles; tile++) {
+            if ((chunk.get(locks + (tile >> 3)) & (1 << (tile & 7))) != 0) board.setLockAt(tile / size, tile % size, true);
+        }
+        return board;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Writes an archive that can be read by {@link PuzzleArchive#open(Path)}. Puzzles may
+     * be added in any order, each group is kept in a temporary file next to the archive
+     * until {@link #close()} puts them together. Instances are not thread safe.
+     */
+    public static class Writer implements Closeable {
+        private final Path file;
+        private final Map<Integer, Path> groupFiles = new LinkedHashMap<>();
+        private final Map<Integer, OutputStream> groupStreams = new HashMap<>();
+        private final Map<Integer, Long> groupCounts = new HashMap<>();
+        private byte[] record = new byte[0];
+
+        /**
+         * @param file the archive to write. It is replaced if it exists.
+         */
+        public Writer(Path file) {
+            this.file = file;
+        }
+
+        /**
+         * Add a puzzle to the archive.
+         * @param board the puzzle.
+         * @param difficulty the difficulty the puzzle is filed under.
+         * @throws IOException if the puzzle can't be written.
+         */
+        public void add(Board board, Difficulty difficulty) throws IOException {
+            int size = board.getSize();
+            int key = key(size, difficulty);
+            OutputStream out = groupStreams.get(key);
+            if (out == null) {
+                Path groupFile = Files.createTempFile(file.toAbsolutePath().getParent(), "puzzles", ".tmp");
+                groupFiles.put(key, groupFile);
+                out = new BufferedOutputStream(Files.newOutputStream(groupFile));
+                groupStreams.put(key, out);
+                groupCounts.put(key, 0L);
+            }
+            int tiles = size * size;
+            int locks = (tiles + 3) / 4;
+            int bytes = recordBytes(size);
+            if (record.length < bytes) record = new byte[bytes];
+            Arrays.fill(record, 0, bytes, (byte) 0);
+            for (int tile = 0; tile < tiles; tile++) {
+                int row = tile / size;
+                int column = tile % size;
+                record[tile >> 2] |= board.getTileAt(row, column).ordinal() << ((tile & 3) * 2);
+                if (board.isLocked(row, column)) record[locks + (tile >> 3)] |= 1 << (tile & 7);
+            }
+            out.write(record, 0, bytes);
+            groupCounts.put(key, groupCounts.get(key) + 1);
+        }
+
+        /**
+         * Write the header and every group to the archive and delete the temporary files.
+         * @throws IOException if the archive can't be written.
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                for (OutputStream out : groupStreams.values()) out.close();
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES + groupFiles.size() * GROUP_BYTES);
+                header.putInt(MAGIC).putInt(VERSION).putInt(groupFiles.size()).putInt(0);
+                long offset = header.capacity();
+                for (Map.Entry<Integer, Path> group : groupFiles.entrySet()) {
+                    int key = group.getKey();
+                    long count = groupCounts.get(key);
+                    header.putInt(key / DIFFICULTIES.length).putInt(key % DIFFICULTIES.length)
+                            .putLong(count).putLong(offset);
+                    offset += Files.size(group.getValue());
+                }
+                header.flip();
+                try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    while (header.hasRemaining()) out.write(header);
+                    for (Path groupFile : groupFiles.values()) {
+                        try (FileChannel in = FileChannel.open(groupFile, StandardOpenOption.READ)) {
+                            long copied = 0;
+                            while (copied < in.size()) copied += in.transferTo(copied, in.size() - copied, out);
+                        }
+                    }
+                }
+            } finally {
+                for (Path groupFile : groupFiles.values()) Files.deleteIfExists(groupFile);
+            }
+        }
+    }
+}
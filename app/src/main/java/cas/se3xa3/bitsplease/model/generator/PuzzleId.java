@@ -0,0 +1,68 @@
+package cas.se3xa3.bitsplease.model.generator;
+
+/**
+ * Created on 17/10/2026.
+ * Identifies a puzzle by the size and seed it was generated from, so the puzzle can
+ * be generated again with {@link BoardGenerator#generate(PuzzleId)} instead of being
+ * stored. The text form is the size and the seed in base 36, for example {@code 8-3w5e11264sgsf}.
+ */
+public final class PuzzleId {
+    private static final int RADIX = 36;
+
+    private final int size;
+    private final long seed;
+
+    public PuzzleId(int size, long seed) {
+        if (size < 0) throw new IllegalArgumentException("size must be >= 0 but was "+size);
+        this.size = size;
+        this.seed = seed;
+    }
+
+    /**
+     * Read an id from its text form. See {@link PuzzleId#toString()}.
+     * @param id the text form of the id.
+     * @return the id.
+     * @throws IllegalArgumentException if {@code id} is not a puzzle id.
+     */
+    public static PuzzleId parse(String id) {
+        int separator = id.indexOf('-');
+        if (separator <= 0) throw new IllegalArgumentException("Invalid puzzle id. " + id);
+        try {
+            return new PuzzleId(Integer.parseInt(id.substring(0, separator)),
+                    Long.parseUnsignedLong(id.substring(separator + 1), RADIX));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid puzzle id. " + id, e);
+        }
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        PuzzleId puzzleId = (PuzzleId) o;
+
+        return size == puzzleId.size && seed == puzzleId.seed;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Long.hashCode(seed);
+    }
+
+    /**
+     * @return the text form of this id, readable by {@link PuzzleId#parse(String)}.
+     */
+    @Override
+    public String toString() {
+        return size + "-" + Long.toUnsignedString(seed, RADIX);
+    }
+}
@@ -0,0 +1,216 @@
+package cas.se3xa3.bitsplease.model.generator;
+
+import cas.se3xa3.bitsplease.model.Board;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created on 17/10/2026.
+ * Keeps a number of ready made puzzles for each board size so a new game doesn't
+ * have to wait for {@link BoardGenerator#generate(int)}. Puzzles are generated by a
+ * fixed number of background threads and the pool of a size is topped up every time
+ * a puzzle is taken from it.<br>
+ * If a pool is empty when a puzzle is requested, the puzzle is generated on the
+ * calling thread and counted as a miss.
+ */
+public class PuzzlePool {
+    public static final int DEFAULT_CAPACITY = 3;
+    public static final int DEFAULT_THREADS = 2;
+
+    //Generators are not thread safe so each thread gets its own
+    private static final ThreadLocal<BoardGenerator> GENERATOR = ThreadLocal.withInitial(BoardGenerator::new);
+
+    private final int capacity;
+    private final Map<Integer, Slot> slots;
+    private final ExecutorService executor;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Puzzles and metrics for a single board size.
+     */
+    private static class Slot {
+        private final BlockingQueue<Board> ready;
+        //Puzzles submitted to the executor but not yet in the queue
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong generated = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private Slot(int capacity) {
+            this.ready = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+
+    /**
+     * Create a pool that keeps {@link #DEFAULT_CAPACITY} puzzles of every size in {@code sizes}.
+     * @param sizes the sizes of the boards to keep ready.
+     */
+    public PuzzlePool(int... sizes) {
+        this(DEFAULT_CAPACITY, DEFAULT_THREADS, sizes);
+    }
+
+    /**
+     * Create a pool and start filling it.
+     * @param capacity the number of puzzles to keep ready for each size.
+     * @param threads the number of background threads generating puzzles.
+     * @param sizes the sizes of the boards to keep ready.
+     * @throws IllegalArgumentException if capacity < 1, threads < 1 or one of the sizes
+     * is not accepted by {@link BoardGenerator#isAcceptedSize(int)}.
+     */
+    public PuzzlePool(int capacity, int threads, int[] sizes) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be >= 1 but was "+capacity);
+        if (threads < 1) throw new IllegalArgumentException("threads must be >= 1 but was "+threads);
+        this.capacity = capacity;
+        Map<Integer, Slot> slots = new HashMap<>();
+        for (int size : sizes) {
+            if (!GENERATOR.get().isAcceptedSize(size)) throw new IllegalArgumentException("Invalid size. " + size);
+            slots.put(size, new Slot(capacity));
+        }
+        this.slots = Collections.unmodifiableMap(slots);
+        this.executor = Executors.newFixedThreadPool(threads, task -> {
+            Thread thread = new Thread(task, "Puzzle generator");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+        for (int size : sizes) refill(size);
+    }
+
+    /**
+     * Take a puzzle of the given size from the pool, generating one on the calling
+     * thread if none are ready.
+     * @param size the size of the board.
+     * @return a puzzle as described by {@link BoardGenerator#generate(int)}.
+     * @throws IllegalArgumentException if the size is not accepted by the generator.
+     */
+    public Board take(int size) {
+        Slot slot = slots.get(size);
+        Board board = slot == null ? null : slot.ready.poll();
+        if (board != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            board = generate(size, slot);
+        }
+        refill(size);
+        return board;
+    }
+
+    private void refill(int size) {
+        Slot slot = slots.get(size);
+        if (slot == null || executor.isShutdown()) return;
+        while (reserve(slot)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        slot.ready.offer(generate(size, slot));
+                    } finally {
+                        slot.pending.decrementAndGet();
+                    }
+                });
+            } catch (RejectedExecutionException shutdown) {
+                slot.pending.decrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Count one more puzzle as pending if the slot has room for it. Takes from several
+     * threads may refill at once, the room is checked and taken in a single step so no
+     * more puzzles are generated than the queue can hold.
+     * @return true if a puzzle should be generated for the slot.
+     */
+    private boolean reserve(Slot slot) {
+        while (true) {
+            int pending = slot.pending.get();
+            //A generated puzzle is offered before it stops pending so it is never missed here
+            if (slot.ready.size() + pending >= capacity) return false;
+            if (slot.pending.compareAndSet(pending, pending + 1)) return true;
+        }
+    }
+
+    private Board generate(int size, Slot slot) {
+        long start = System.nanoTime();
+        Board board = GENERATOR.get().generate(size);
+        if (slot != null) {
+            long elapsed = System.nanoTime() - start;
+            slot.generated.incrementAndGet();
+            slot.totalNanos.addAndGet(elapsed);
+            slot.maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+        return board;
+    }
+
+    /**
+     * Stop generating puzzles. Puzzles can still be taken but are generated on the
+     * calling thread once the pool runs dry.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return the number of puzzles kept ready for each size.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @param size the size of the boards.
+     * @return the number of puzzles of this size ready to be taken.
+     */
+    public int getFillLevel(int size) {
+        Slot slot = slots.get(size);
+        return slot == null ? 0 : slot.ready.size();
+    }
+
+    /**
+     * @return the number of puzzles taken that were ready in the pool.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of puzzles taken that had to be generated on the calling thread.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @param size the size of the boards.
+     * @return the number of puzzles of this size generated so far.
+     */
+    public long getGeneratedCount(int size) {
+        Slot slot = slots.get(size);
+        return slot == null ? 0 : slot.generated.get();
+    }
+
+    /**
+     * @param size the size of the boards.
+     * @return the mean time in milliseconds it took to generate a puzzle of this size
+     * or 0 if none have been generated.
+     */
+    public double getAverageGenerationTime(int size) {
+        Slot slot = slots.get(size);
+        if (slot == null || slot.generated.get() == 0) return 0;
+        return slot.totalNanos.get() / 1e6 / slot.generated.get();
+    }
+
+    /**
+     * @param size the size of the boards.
+     * @return the longest time in milliseconds it took to generate a puzzle of this size.
+     */
+    public double getMaxGenerationTime(int size) {
+        Slot slot = slots.get(size);
+        return slot == null ? 0 : slot.maxNanos.get() / 1e6;
+    }
+}
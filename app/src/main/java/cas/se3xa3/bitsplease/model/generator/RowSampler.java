@@ -0,0 +1,210 @@
+package cas.se3xa3.bitsplease.model.generator;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.model.checker.LineIndex;
+import cas.se3xa3.bitsplease.model.solver.ConstraintSolver;
+
+import java.util.Random;
+
+/**
+ * Created on 17/10/2026.
+ * Builds solved boards of any size up to {@link Board#MAX_SIZE} one row at a time without
+ * listing the valid lines of the size. Every row is drawn at random from the valid rows
+ * that keep each column close to equal counts and able to finish without three in a row.
+ * The last {@link #SOLVED_ROWS} rows are left to a {@link ConstraintSolver}. A row that
+ * can't be drawn, repeats an earlier row or leaves the solver stuck has the rows before
+ * it drawn again.<br>
+ * Rows are stored as the mask of their blue tiles, like {@link ValidLines}.
+ * Instances are not thread safe.
+ */
+class RowSampler {
+    private static final int RED = 0;
+    private static final int BLUE = 1;
+    //A row state packs the blue count, the color of the last tile and the length of its run
+    private static final int RUN_STATES = 4;
+    //Rows redrawn when a row can't be drawn
+    private static final int BACKTRACK = 3;
+    private static final int FAILURES_PER_ATTEMPT = 4;
+    //How far ahead of the other color a color may get in a column
+    private static final int MAX_LEAD = 2;
+    //The last rows depend on each other too much to be drawn one at a time, they are solved for
+    private static final int SOLVED_ROWS = 6;
+
+    private final int size;
+    private final int half;
+
+    //completable[redLeft][blueLeft][last color * 3 + run length] is true if a column can
+    //end with that many more tiles of each color after a run of the last color
+    private final boolean[][][] completable;
+
+    //Column state while a board is built
+    private final int[] blueInColumn;
+    private final int[] lastInColumn;
+    private final int[] runInColumn;
+
+    //The state before the first tile of a row
+    private final int start;
+    //Number of ways to finish a row from [position][state]
+    private final double[][] ways;
+    private final long[] chosen;
+    private final LineIndex lineIndex = new LineIndex();
+    private final ConstraintSolver solver;
+
+    RowSampler(int size) {
+        if (size < 0) throw new IllegalArgumentException("size must be >= 0 but was "+size);
+        if (size > Board.MAX_SIZE) throw new IllegalArgumentException("size must be <= "+Board.MAX_SIZE+" but was "+size);
+        this.size = size;
+        this.half = size / 2;
+        this.completable = new boolean[half + 1][half + 1][6];
+        for (int redLeft = 0; redLeft <= half; redLeft++) {
+            for (int blueLeft = 0; blueLeft <= half; blueLeft++) {
+                for (int last = RED; last <= BLUE; last++) {
+                    for (int run = 0; run < 3; run++) {
+                        completable[redLeft][blueLeft][last * 3 + run] = redLeft + blueLeft == 0
+                                || redLeft > 0 && !(last == RED && run == 2)
+                                && completable[redLeft - 1][blueLeft][RED * 3 + (last == RED ? run + 1 : 1)]
+                                || blueLeft > 0 && !(last == BLUE && run == 2)
+                                && completable[redLeft][blueLeft - 1][BLUE * 3 + (last == BLUE ? run + 1 : 1)];
+                    }
+                }
+            }
+        }
+        this.blueInColumn = new int[size];
+        this.lastInColumn = new int[size];
+        this.runInColumn = new int[size];
+        this.start = (half + 1) * RUN_STATES;
+        this.ways = new double[size + 1][start + 1];
+        this.chosen = new long[size];
+        this.solver = new ConstraintSolver(size);
+    }
+
+    /**
+     * Build a solved board.
+     * @param random the source of the rows.
+     * @return the solved board.
+     */
+    Board generateBoard(Random random) {
+        Board board;
+        do {
+            board = tryBoard(random);
+        }
+        while (board == null);
+        return board;
+    }
+
+    private Board tryBoard(Random random) {
+        int failuresLeft = FAILURES_PER_ATTEMPT * size;
+        int drawn = Math.max(0, size - SOLVED_ROWS);
+        int row = 0;
+        rewind(row);
+        while (true) {
+            if (row == drawn) {
+                Board board = new Board(size);
+                for (int kept = 0; kept < drawn; kept++) {
+                    for (int column = 0; column < size; column++)
+                        board.setTileAt(kept, column, (chosen[kept] & (1L << column)) == 0 ? Tile.RED : Tile.BLUE);
+                }
+                Board solved = solver.solveWithin(board, size);
+                if (solved != null) return solved;
+            } else if (drawRow(row, random) && lineIndex.add(chosen[row], row) == -1) {
+                //Rows must all be different
+                place(chosen[row]);
+                row++;
+                continue;
+            }
+            //Redraw the last few rows, they are what got this one stuck
+            if (failuresLeft-- <= 0) return null;
+            row = Math.max(0, row - BACKTRACK);
+            rewind(row);
+        }
+    }
+
+    /**
+     * Forget every row from {@code row} on.
+     */
+    private void rewind(int row) {
+        for (int column = 0; column < size; column++) {
+            blueInColumn[column] = 0;
+            lastInColumn[column] = RED;
+            runInColumn[column] = 0;
+        }
+        lineIndex.clear();
+        for (int kept = 0; kept < row; kept++) {
+            lineIndex.add(chosen[kept], kept);
+            place(chosen[kept]);
+        }
+    }
+
+    private void place(long blue) {
+        for (int column = 0; column < size; column++) {
+            int color = (int) (blue >>> column) & 1;
+            blueInColumn[column] += color;
+            runInColumn[column] = lastInColumn[column] == color ? runInColumn[column] + 1 : 1;
+            lastInColumn[column] = color;
+        }
+    }
+
+    /**
+     * Draw a valid row at random among the ones every column can be finished after.
+     * @return false if there is no such row.
+     */
+    private boolean drawRow(int row, Random random) {
+        long canBeRed = 0L;
+        long canBeBlue = 0L;
+        for (int column = 0; column < size; column++) {
+            int blueLeft = half - blueInColumn[column];
+            int redLeft = half - (row - blueInColumn[column]);
+            int lead = (row - blueInColumn[column]) - blueInColumn[column];
+            int last = lastInColumn[column];
+            int run = runInColumn[column];
+            if (redLeft > 0 && !(last == RED && run == 2) && lead + 1 <= MAX_LEAD
+                    && completable[redLeft - 1][blueLeft][RED * 3 + (last == RED ? run + 1 : 1)])
+                canBeRed |= 1L << column;
+            if (blueLeft > 0 && !(last == BLUE && run == 2) && -(lead - 1) <= MAX_LEAD
+                    && completable[redLeft][blueLeft - 1][BLUE * 3 + (last == BLUE ? run + 1 : 1)])
+                canBeBlue |= 1L << column;
+        }
+        //Count the ways to finish the row from every position and state, back to front
+        for (int state = 0; state < start; state++) ways[size][state] = state / RUN_STATES == half ? 1 : 0;
+        ways[size][start] = size == 0 ? 1 : 0;
+        for (int position = size - 1; position >= 0; position--) {
+            for (int state = 0; state <= start; state++) {
+                ways[position][state] = waysAfter(position, state, RED, canBeRed, canBeBlue)
+                        + waysAfter(position, state, BLUE, canBeRed, canBeBlue);
+            }
+        }
+        int state = start;
+        if (ways[0][state] == 0) return false;
+        long blue = 0L;
+        for (int position = 0; position < size; position++) {
+            double red = waysAfter(position, state, RED, canBeRed, canBeBlue);
+            int color = random.nextDouble() * ways[position][state] < red ? RED : BLUE;
+            if (color == BLUE) blue |= 1L << position;
+            state = next(state, color);
+        }
+        chosen[row] = blue;
+        return true;
+    }
+
+    private double waysAfter(int position, int state, int color, long canBeRed, long canBeBlue) {
+        if ((((color == RED ? canBeRed : canBeBlue) >>> position) & 1) == 0) return 0;
+        int next = next(state, color);
+        if (next == -1) return 0;
+        int blueCount = next / RUN_STATES;
+        if (blueCount > half || position + 1 - blueCount > half) return 0;
+        return ways[position + 1][next];
+    }
+
+    /**
+     * @return the state after a tile of {@code color} or -1 if it makes three in a row.
+     */
+    private int next(int state, int color) {
+        if (state == start) return color * RUN_STATES + color * 2;
+        int blueCount = state / RUN_STATES + color;
+        int last = (state / 2) % 2;
+        int run = last == color ? state % 2 + 2 : 1;
+        if (run > 2) return -1;
+        return blueCount * RUN_STATES + color * 2 + run - 1;
+    }
+}
@@ -2,27 +2,49 @@ package cas.se3xa3.bitsplease.model.generator;
 
 import cas.se3xa3.bitsplease.model.Board;
 import cas.se3xa3.bitsplease.model.Tile;
-import cas.se3xa3.bitsplease.model.checker.SimpleRules;
+import cas.se3xa3.bitsplease.model.checker.LineIndex;
 
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
 
 /**
  * Created on 01/11/2015.
  * Generates solved boards. Each solved board returned in consecutive calls
  * to {@link SolvedBoardGenerator#generateBoard()} is unique from the last
- * {@link SolvedBoardGenerator#UNIQUENESS_LOOKBEHIND} boards returned.
+ * {@link SolvedBoardGenerator#UNIQUENESS_LOOKBEHIND} boards returned.<br>
+ * Boards are built row by row from the shared {@link ValidLines} table of their size.
+ * Above {@link ValidLines#MAX_SIZE} the table would be too large, so the rows are drawn
+ * one at a time by a {@link RowSampler} instead.
  */
 public class SolvedBoardGenerator {
     public static final int UNIQUENESS_LOOKBEHIND = 8;
+    private static final int ROWS_PER_ATTEMPT = 8;
+
+    private final Random r = new Random(System.currentTimeMillis());
 
     private int size;
+    private ValidLines lines;
+    private RowSampler sampler;
 
     private Queue<Board> previousBoards;
 
+    //Scratch space for a single board
+    private long[] chosen;
+    //The rows that may follow the rows above, for every row being placed
+    private int[][] candidates;
+    private int[] blueInColumn;
+    private long[] columns;
+    private LineIndex columnIndex;
+    private int rowsLeft;
+
     public SolvedBoardGenerator(int size) {
         this.size = size;
+        if (size <= ValidLines.MAX_SIZE) this.lines = ValidLines.forSize(size);
+        else                             this.sampler = new RowSampler(size);
+        this.chosen = new long[size];
+        if (lines != null) this.candidates = new int[size][lines.count()];
+        this.blueInColumn = new int[size];
+        this.columns = new long[size];
+        this.columnIndex = new LineIndex();
         previousBoards = new LinkedList<>();
     }
 
@@ -31,102 +53,110 @@ public class SolvedBoardGenerator {
      * @return the craeted board
      */
     public Board generateBoard() {
-        Board board = new Board(size);
-        LinkedList<Integer> validRows = generateRows();
-        Collections.shuffle(validRows);
-        int rowIndex = 0;
-        int[] rowsUsed = new int[size];
-        int[] attempts = new int[size];
+        Board board;
         do {
-            attempts[rowIndex]++;
-            int row = validRows.poll();
-            setRow(rowIndex, row, board);
-            if (isValid(board)) {
-                rowsUsed[rowIndex] = row;
-                rowIndex++;
-            } else {
-                validRows.offer(row);
-                emptyRow(rowIndex, board);
-                if (rowsUsed[rowIndex] != 0) {
-                    validRows.offer(rowsUsed[rowIndex]);
-                    rowsUsed[rowIndex] = 0;
-                }
-                if (attempts[rowIndex] >= validRows.size()) {
-                    attempts[rowIndex] = 0;
-                    for (int clearRowIndex = 1; clearRowIndex < rowIndex; clearRowIndex++) {
-                        if (rowsUsed[clearRowIndex] != 0) {
-                            validRows.offer(rowsUsed[clearRowIndex]);
-                            rowsUsed[clearRowIndex] = 0;
-                        }
-                        emptyRow(clearRowIndex, board);
-                        attempts[clearRowIndex] = 0;
-                    }
-                    rowIndex = 1;
-                }
-            }
+            board = walk(r);
         }
-        while (rowIndex < size);
+        while (previousBoards.contains(board));
         previousBoards.offer(board);
         if (previousBoards.size() > UNIQUENESS_LOOKBEHIND) previousBoards.poll();
         return board;
     }
 
-    private LinkedList<Integer> generateRows() {
-        //Take all values a binary number with "size" bits can have
-        //and filter out the invalid combinations
-        return IntStream.range(0, (int) Math.pow(2, size))
-                .filter(this::isValidRow)
-                .boxed()
-                .collect(Collectors.toCollection(LinkedList::new));
+    /**
+     * Generates the solved board identified by {@code seed}. The same seed always gives
+     * the same board for a given size. Boards generated this way are neither checked
+     * against nor remembered for the {@link SolvedBoardGenerator#UNIQUENESS_LOOKBEHIND}.
+     * @param seed the seed of the board.
+     * @return the created board
+     */
+    public Board generateBoard(long seed) {
+        return walk(new Random(seed));
     }
 
-    private boolean isValidRow(int vector) {
-        //Get all coordinates of the 1's in the vector
-        int[] ones = IntStream.range(0, size)
-                .sequential()
-                .filter(bit -> {
-                    int shiftFactor = size - 1 - bit;
-                    return (vector & (1 << shiftFactor)) != 0;
-                })
-                .toArray();
-        //Get all the coordinates of the 0's in the vector
-        int[] zeros = IntStream.range(0, size)
-                .sequential()
-                .filter(bit -> {
-                    int shiftFactor = size - 1 - bit;
-                    return (vector & (1 << shiftFactor)) == 0;
-                })
-                .toArray();
-        //Make sure there are not too many or too few 1's
-        if (ones.length != this.size/2) return false;
-        //Ensure that there are a max of 2 0's between 1's
-        int previousBit = -1;
-        for (int bit : ones) {
-            if (bit - previousBit > 3) return false;
-            previousBit = bit;
+    private Board walk(Random random) {
+        if (sampler != null) return sampler.generateBoard(random);
+        //Walk the valid rows until a solved board is found, starting over
+        //with a new order whenever a walk takes too long
+        boolean found;
+        do {
+            for (int column = 0; column < size; column++) blueInColumn[column] = 0;
+            rowsLeft = ROWS_PER_ATTEMPT * size;
+            found = placeRow(0, random);
         }
-        //Ensure that there are a max of 2 1's between 0's
-        previousBit = -1;
-        for (int bit : zeros) {
-            if (bit - previousBit > 3) return false;
-            previousBit = bit;
+        while (!found);
+        Board board = new Board(size);
+        for (int row = 0; row < size; row++) setRow(row, chosen[row], board);
+        return board;
+    }
+
+    /**
+     * Try the rows compatible with the ones above in a random order.
+     * @return true once every row has been placed.
+     */
+    private boolean placeRow(int row, Random random) {
+        if (row == size) return columnsAreUnique();
+        if (rowsLeft-- <= 0) return false;
+        int half = size / 2;
+        //A column missing more than twice as many tiles of one color as the other can only
+        //be finished if it gets that color next
+        long mustBeBlue = 0L;
+        long mustBeRed = 0L;
+        for (int column = 0; column < size; column++) {
+            int blueNeeded = half - blueInColumn[column];
+            int redNeeded = half - (row - blueInColumn[column]);
+            if (blueNeeded > 2 * redNeeded) mustBeBlue |= 1L << column;
+            if (redNeeded > 2 * blueNeeded) mustBeRed |= 1L << column;
         }
-        return true;
+        //Nor can a row make three of the same color with the two above
+        if (row >= 2) {
+            mustBeRed |= chosen[row - 2] & chosen[row - 1];
+            mustBeBlue |= ((1L << size) - 1) & ~(chosen[row - 2] | chosen[row - 1]);
+        }
+        if ((mustBeRed & mustBeBlue) != 0) return false;
+        int[] candidates = this.candidates[row];
+        int candidateCount = lines.matching(mustBeRed, mustBeBlue, candidates);
+        //Visit the candidates in a uniformly random order, shuffling them as they are visited
+        //so a row placed early only pays for the candidates it looked at
+        CandidateLoop:
+        for (int i = 0; i < candidateCount; i++) {
+            int swap = i + random.nextInt(candidateCount - i);
+            int index = candidates[swap];
+            candidates[swap] = candidates[i];
+            candidates[i] = index;
+            long candidate = lines.get(index);
+            for (int previous = 0; previous < row; previous++) {
+                if (chosen[previous] == candidate) continue CandidateLoop;
+            }
+            chosen[row] = candidate;
+            count(candidate, 1);
+            if (placeRow(row + 1, random)) return true;
+            count(candidate, -1);
+        }
+        return false;
     }
 
-    private boolean isValid(Board board) {
-        return SimpleRules.EQUAL_BLUE_AND_RED.holds(board)
-                && SimpleRules.NO_THREE_IN_A_ROW.holds(board)
-                && (!board.isFull() || SimpleRules.NO_IDENTICAL_ROWS_OR_COLUMNS.holds(board))
-                && !previousBoards.contains(board);
+    private void count(long row, int amount) {
+        while (row != 0) {
+            blueInColumn[Long.numberOfTrailingZeros(row)] += amount;
+            row &= row - 1;
+        }
     }
 
-    private void setRow(int rowIndex, int rowContents, Board board) {
-        IntStream.range(0, size).forEach(columnIndex ->
-                board.setTileAt(rowIndex, columnIndex, (rowContents & (1 << (size - 1 - columnIndex))) == 0 ? Tile.RED : Tile.BLUE));
+    private boolean columnsAreUnique() {
+        Arrays.fill(columns, 0L);
+        for (int row = 0; row < size; row++) {
+            long blue = chosen[row];
+            while (blue != 0) {
+                columns[Long.numberOfTrailingZeros(blue)] |= 1L << row;
+                blue &= blue - 1;
+            }
+        }
+        return columnIndex.areUnique(columns, size);
     }
 
-    private void emptyRow(int rowIndex, Board board) {
-        IntStream.range(0, size).forEach(columnIndex -> board.setTileAt(rowIndex, columnIndex, Tile.EMPTY));
+    private void setRow(int rowIndex, long rowContents, Board board) {
+        for (int columnIndex = 0; columnIndex < size; columnIndex++)
+            board.setTileAt(rowIndex, columnIndex, (rowContents & (1L << columnIndex)) == 0 ? Tile.RED : Tile.BLUE);
     }
 }
@@ -0,0 +1,136 @@
+package cas.se3xa3.bitsplease.model.generator;
+
+import cas.se3xa3.bitsplease.model.Tile;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Created on 17/10/2026.
+ * An immutable table of every line (row or column) that can appear in a solved board
+ * of a given size. A line is a mask with bit {@code i} set if tile {@code i} is
+ * {@link Tile#BLUE} and clear if it is {@link Tile#RED}.<br>
+ * Tables are built once per size on first use and shared by every caller. See
+ * {@link ValidLines#forSize(int)}.
+ */
+public final class ValidLines {
+    /**
+     * The largest size a table can be built for. There are 8196 valid lines of size 20
+     * and the count grows by about 2.5 times for every 2 tiles added.
+     */
+    public static final int MAX_SIZE = 20;
+
+    private static final ConcurrentMap<Integer, ValidLines> TABLES = new ConcurrentHashMap<>();
+
+    private final int size;
+    private final long fullMask;
+    private final long[] lines;
+
+    /**
+     * Get the shared table for lines of length {@code size}.
+     * @param size the length of the lines.
+     * @return the table of valid lines.
+     * @throws IllegalArgumentException if size doesn't fall in the range {@code [0, MAX_SIZE]}
+     */
+    public static ValidLines forSize(int size) {
+        if (size < 0) throw new IllegalArgumentException("size must be >= 0 but was "+size);
+        if (size > MAX_SIZE) throw new IllegalArgumentException("size must be <= "+MAX_SIZE+" but was "+size);
+        return TABLES.computeIfAbsent(size, ValidLines::new);
+    }
+
+    private ValidLines(int size) {
+        this.size = size;
+        this.fullMask = (1L << size) - 1;
+        long[] found = new long[16];
+        int count = 0;
+        //Walk the lines bit by bit, abandoning any prefix that is already invalid
+        long[] stack = new long[size + 1];
+        int[] blueCount = new int[size + 1];
+        int depth = 0;
+        int[] nextColor = new int[size + 1];
+        while (depth >= 0) {
+            if (depth == size) {
+                if (count == found.length) found = Arrays.copyOf(found, count * 2);
+                found[count++] = stack[depth];
+                depth--;
+                continue;
+            }
+            int color = nextColor[depth]++;
+            if (color > 1) {
+                nextColor[depth] = 0;
+                depth--;
+                continue;
+            }
+            long line = stack[depth] | ((long) color << depth);
+            int blues = blueCount[depth] + color;
+            if (blues > size / 2 || depth + 1 - blues > size / 2) continue;
+            if (depth >= 2 && ((line >>> (depth - 2)) & 0b111) == (color == 1 ? 0b111 : 0)) continue;
+            stack[depth + 1] = line;
+            blueCount[depth + 1] = blues;
+            depth++;
+        }
+        this.lines = Arrays.copyOf(found, count);
+        Arrays.sort(this.lines);
+    }
+
+    /**
+     * @return the length of the lines in this table.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of valid lines.
+     */
+    public int count() {
+        return lines.length;
+    }
+
+    /**
+     * Get a line by index.
+     * @param index the index of the line in {@code [0, count())}. Lines are in increasing order.
+     * @return the line as a mask of its blue tiles.
+     */
+    public long get(int index) {
+        return lines[index];
+    }
+
+    /**
+     * Find the lines that can be placed after {@code twoBefore} and {@code before} without making
+     * three of the same color across the lines. The whole table is filtered on every call, which
+     * takes a few microseconds at {@link #MAX_SIZE}. Remembering the results instead grows without
+     * bound since every pair of lines gives a different set.
+     * @param twoBefore the line two places back or -1 if there is none.
+     * @param before the line one place back or -1 if there is none.
+     * @param into where to write the indexes of the compatible lines in increasing order.
+     *             It must have room for {@link #count()} indexes.
+     * @return the number of compatible lines written to {@code into}.
+     */
+    public int compatibleWith(long twoBefore, long before, int[] into) {
+        long mustBeRed = 0L;
+        long mustBeBlue = 0L;
+        if (twoBefore != -1 && before != -1) {
+            mustBeRed = twoBefore & before;
+            mustBeBlue = fullMask & ~(twoBefore | before);
+        }
+        return matching(mustBeRed, mustBeBlue, into);
+    }
+
+    /**
+     * Find the lines that are red and blue where asked.
+     * @param mustBeRed the tiles that must be red.
+     * @param mustBeBlue the tiles that must be blue.
+     * @param into where to write the indexes of the matching lines in increasing order.
+     *             It must have room for {@link #count()} indexes.
+     * @return the number of matching lines written to {@code into}.
+     */
+    public int matching(long mustBeRed, long mustBeBlue, int[] into) {
+        int count = 0;
+        for (int i = 0; i < lines.length; i++) {
+            if ((lines[i] & mustBeRed) == 0 && (mustBeBlue & ~lines[i]) == 0) into[count++] = i;
+        }
+        return count;
+    }
+}
@@ -4,6 +4,7 @@ import cas.se3xa3.bitsplease.model.Board;
 import cas.se3xa3.bitsplease.model.Coordinate;
 import cas.se3xa3.bitsplease.model.Tile;
 
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.IntStream;
@@ -16,9 +17,18 @@ import static cas.se3xa3.bitsplease.model.Tile.*;
  * {@link BoardSolver#placeCorrectTile()} for single tile placement or
  * {@link BoardSolver#tryToSolve()} for a best attempt at a solution. All
  * solvable boards will cause {@link BoardSolver#tryToSolve()} to return true.
+ * {@link BoardSolver#propagateAll()} places every tile the solver can deduce in one go.
  */
 public class BoardSolver {
+    private static final Tile[] TILES = Tile.values();
+    private static final Technique[] TECHNIQUES = Technique.values();
+
     private Board board;
+    //Lines that may have tiles to place, bit i is set for row or column i
+    private long dirtyRows;
+    private long dirtyColumns;
+    private int[] placements;
+    private int placed;
 
     /**
      * Create a new solver for {@code board}.
@@ -122,6 +132,146 @@ public class BoardSolver {
         return true;
     }
 
+    /**
+     * Place every tile that {@link #placeCorrectTile()} would place if called until it
+     * has nothing left to place. Rather than searching the whole board for every tile,
+     * only the rows and columns that changed since they were last searched are searched
+     * again. On a board that breaks a rule the tiles placed may differ from
+     * {@link #tryToSolve()}.
+     * @return the tiles placed in the order they were placed. Each is packed in an
+     * int, see {@link #getRow(int)}, {@link #getColumn(int)}, {@link #getTile(int)} and
+     * {@link #getTechnique(int)}.
+     */
+    public int[] propagateAll() {
+        int empty = 0;
+        for (int row = 0; row < board.getSize(); row++) {
+            empty += board.getSize() - Long.bitCount(board.getRowMask(row, RED) | board.getRowMask(row, BLUE));
+        }
+        placements = new int[empty];
+        placed = 0;
+        dirtyRows = board.getFullMask();
+        dirtyColumns = board.getFullMask();
+        while ((dirtyRows | dirtyColumns) != 0) {
+            if (dirtyRows != 0) {
+                int row = Long.numberOfTrailingZeros(dirtyRows);
+                dirtyRows &= dirtyRows - 1;
+                propagateLine(true, row);
+            } else {
+                int column = Long.numberOfTrailingZeros(dirtyColumns);
+                dirtyColumns &= dirtyColumns - 1;
+                propagateLine(false, column);
+            }
+        }
+        int[] result = Arrays.copyOf(placements, placed);
+        placements = null;
+        return result;
+    }
+
+    /**
+     * @param placement a placement returned by {@link #propagateAll()}.
+     * @return the index of the row of the placed tile.
+     */
+    public static int getRow(int placement) {
+        return (placement >>> 12) & 0xFF;
+    }
+
+    /**
+     * @param placement a placement returned by {@link #propagateAll()}.
+     * @return the index of the column of the placed tile.
+     */
+    public static int getColumn(int placement) {
+        return (placement >>> 4) & 0xFF;
+    }
+
+    /**
+     * @param placement a placement returned by {@link #propagateAll()}.
+     * @return the tile placed.
+     */
+    public static Tile getTile(int placement) {
+        return TILES[placement & 0x3];
+    }
+
+    /**
+     * @param placement a placement returned by {@link #propagateAll()}.
+     * @return the technique the tile was deduced with, one of the techniques
+     * up to {@link Technique#UNIQUE_COLUMN}.
+     */
+    public static Technique getTechnique(int placement) {
+        return TECHNIQUES[placement >>> 20];
+    }
+
+    /**
+     * Place the tiles of a single line found by the easiest technique that finds any,
+     * in the same order as {@link #placeCorrectTile()}. Every placement marks its row
+     * and column so the line is searched again for what the new tiles give away.
+     */
+    private void propagateLine(boolean isRow, int line) {
+        long full = board.getFullMask();
+        long red = isRow ? board.getRowMask(line, RED) : board.getColumnMask(line, RED);
+        long blue = isRow ? board.getRowMask(line, BLUE) : board.getColumnMask(line, BLUE);
+        long empty = full & ~(red | blue);
+        if (empty == 0) return;
+        //Next to two of the same color
+        long redPairs = red & (red >>> 1);
+        long bluePairs = blue & (blue >>> 1);
+        if (placeAll(isRow, line, (bluePairs << 2 | bluePairs >>> 1) & empty,
+                (redPairs << 2 | redPairs >>> 1) & empty, Technique.DUO)) return;
+        //Between two of the same color
+        if (placeAll(isRow, line, (blue << 1) & (blue >>> 1) & empty,
+                (red << 1) & (red >>> 1) & empty, Technique.TRIO)) return;
+        //Half of the line has one color
+        int half = board.getSize() / 2;
+        Technique count = isRow ? Technique.ROW_COUNT : Technique.COLUMN_COUNT;
+        int redCount = Long.bitCount(red);
+        int blueCount = Long.bitCount(blue);
+        if (redCount != blueCount && (blueCount == half || redCount == half)) {
+            placeAll(isRow, line, blueCount == half ? empty : 0, redCount == half ? empty : 0, count);
+            return;
+        }
+        //The line would match a full line
+        if (Long.bitCount(empty) != 2) return;
+        for (int other = 0; other < board.getSize(); other++) {
+            if (other == line) continue;
+            long otherRed = isRow ? board.getRowMask(other, RED) : board.getColumnMask(other, RED);
+            long otherBlue = isRow ? board.getRowMask(other, BLUE) : board.getColumnMask(other, BLUE);
+            if ((otherRed | otherBlue) != full || (otherRed & ~empty) != red || (otherBlue & ~empty) != blue) continue;
+            long first = Long.lowestOneBit(empty);
+            place(isRow, line, Long.numberOfTrailingZeros(first), (otherRed & first) != 0 ? BLUE : RED,
+                    isRow ? Technique.UNIQUE_ROW : Technique.UNIQUE_COLUMN);
+            return;
+        }
+    }
+
+    /**
+     * Place red on the tiles of {@code toRed} and blue on those of {@code toBlue}. Tiles
+     * in both break a rule either way and are left empty.
+     * @return true if any tile was placed.
+     */
+    private boolean placeAll(boolean isRow, int line, long toRed, long toBlue, Technique technique) {
+        long conflicts = toRed & toBlue;
+        toRed &= ~conflicts;
+        toBlue &= ~conflicts;
+        if ((toRed | toBlue) == 0) return false;
+        for (long tiles = toRed | toBlue; tiles != 0; tiles &= tiles - 1) {
+            long tile = Long.lowestOneBit(tiles);
+            place(isRow, line, Long.numberOfTrailingZeros(tile), (toRed & tile) != 0 ? RED : BLUE, technique);
+        }
+        return true;
+    }
+
+    private void place(boolean isRow, int line, int index, Tile tile, Technique technique) {
+        int row = isRow ? line : index;
+        int column = isRow ? index : line;
+        board.setTileAt(row, column, tile);
+        placements[placed++] = technique.ordinal() << 20 | row << 12 | column << 4 | tile.ordinal();
+        dirtyRows |= 1L << row;
+        dirtyColumns |= 1L << column;
+        //A full line can be matched by any line with two empty tiles left
+        long full = board.getFullMask();
+        if ((board.getRowMask(row, RED) | board.getRowMask(row, BLUE)) == full) dirtyRows = full;
+        if ((board.getColumnMask(column, RED) | board.getColumnMask(column, BLUE)) == full) dirtyColumns = full;
+    }
+
     private Coordinate findDuos(boolean place) {
         Tile tileCache1;
         Tile tileCache2;
@@ -0,0 +1,626 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+
+import java.util.Arrays;
+
+import static cas.se3xa3.bitsplease.model.LineMasks.hasRunOfThree;
+import static cas.se3xa3.bitsplease.model.Tile.*;
+
+/**
+ * Created on 17/10/2026.
+ * A complete solver for boards of a single size. Unlike {@link BoardSolver} it
+ * does not rescan the board after each placement. A work queue holds the rows
+ * and columns that changed and only those lines are re-evaluated. When no more
+ * tiles can be deduced the solver guesses a tile and backtracks on a contradiction.<br>
+ * Lines are indexed {@code [0, size)} for rows and {@code [size, 2 * size)} for columns.
+ * Instances are not thread safe but may be reused for any number of boards of the same size.
+ */
+public class ConstraintSolver {
+    /**
+     * The default number of solutions to search for. Enough to tell unique boards apart.
+     */
+    public static final int DEFAULT_LIMIT = 2;
+
+    private final int size;
+    private final int half;
+    private final long fullMask;
+
+    private final long[] rowRed;
+    private final long[] rowBlue;
+    private final long[] columnRed;
+    private final long[] columnBlue;
+
+    //Undo log of placed cells, packed as row * size + column
+    private final int[] trail;
+    private int trailSize;
+
+    //Lines waiting to be propagated
+    private final int[] queue;
+    private final boolean[] queued;
+    private int queueHead;
+    private int queueSize;
+
+    //Scratch space for the line completion check, see findCompletions
+    private final int stateCount;
+    private final int startState;
+    private final boolean[] reachable;
+    private final boolean[] completable;
+    private long canBeRed;
+    private long canBeBlue;
+    //Completions only depend on the tiles of the line, so they are kept in a direct mapped
+    //cache keyed by both masks. The same lines come back on every board of a generation.
+    private static final int CACHE_BITS = 12;
+    private static final int CACHE_SIZE = 1 << CACHE_BITS;
+    private final long[] cachedRed = new long[CACHE_SIZE];
+    private final long[] cachedBlue = new long[CACHE_SIZE];
+    private final long[] cachedCanBeRed = new long[CACHE_SIZE];
+    private final long[] cachedCanBeBlue = new long[CACHE_SIZE];
+
+    private int limit;
+    private int solutionCount;
+    private final long[] solutionRed;
+    //Guesses the search may still make before it gives up, see solveWithin
+    private int guessesLeft;
+
+    //The hardest technique propagation may use, lowered by trace and the capped isDeducible
+    private Technique maxTechnique = Technique.LINE;
+    //Tiles placed by each technique while tracing, indexed by ordinal
+    private final int[] traceCounts = new int[Technique.values().length];
+    private boolean tracing;
+
+    /**
+     * Create a solver for boards of the given size.
+     * @param size the size of the boards to solve.
+     * @throws IllegalArgumentException if size doesn't fall in the range {@code [0, Board.MAX_SIZE]}
+     */
+    public ConstraintSolver(int size) {
+        if (size < 0) throw new IllegalArgumentException("size must be >= 0 but was "+size);
+        if (size > Board.MAX_SIZE) throw new IllegalArgumentException("size must be <= "+Board.MAX_SIZE+" but was "+size);
+        this.size = size;
+        this.half = size / 2;
+        this.fullMask = size == Long.SIZE ? -1L : (1L << size) - 1;
+        this.rowRed = new long[size];
+        this.rowBlue = new long[size];
+        this.columnRed = new long[size];
+        this.columnBlue = new long[size];
+        this.trail = new int[size * size];
+        this.queue = new int[2 * size];
+        this.queued = new boolean[2 * size];
+        this.solutionRed = new long[size];
+        this.startState = (half + 1) * 4;
+        this.stateCount = startState + 1;
+        this.reachable = new boolean[(size + 1) * stateCount];
+        this.completable = new boolean[(size + 1) * stateCount];
+    }
+
+    /**
+     * Get the size of the boards this solver accepts.
+     * @return the size of the boards.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Solve {@code board} looking for up to {@link #DEFAULT_LIMIT} solutions.
+     * @param board the board to solve. It is not modified.
+     * @return the first solution found and the number of solutions.
+     * @throws IllegalArgumentException if the board is not the size of this solver.
+     */
+    public Solution solve(Board board) {
+        return solve(board, DEFAULT_LIMIT);
+    }
+
+    /**
+     * Solve {@code board} looking for up to {@code limit} solutions.
+     * @param board the board to solve. It is not modified.
+     * @param limit the number of solutions after which the search stops.
+     * @return the first solution found and the number of solutions, at most {@code limit}.
+     * @throws IllegalArgumentException if the board is not the size of this solver or limit < 1.
+     */
+    public Solution solve(Board board, int limit) {
+        int count = search(board, limit, Integer.MAX_VALUE);
+        if (count == 0) return new Solution(null, 0);
+        return new Solution(solvedCopy(board), count);
+    }
+
+    /**
+     * Look for a single solution of {@code board}, giving up after {@code maxGuesses}
+     * guesses. Useful when a quick answer matters more than a certain one, since proving
+     * that a large board has no solution can take very long.
+     * @param board the board to solve. It is not modified.
+     * @param maxGuesses the number of guesses after which the search gives up.
+     * @return a solved copy of {@code board} or null if there is no solution or none was found in time.
+     * @throws IllegalArgumentException if the board is not the size of this solver.
+     */
+    public Board solveWithin(Board board, int maxGuesses) {
+        return search(board, 1, maxGuesses) == 0 ? null : solvedCopy(board);
+    }
+
+    /**
+     * Check if the tile at {@code (row, column)} follows from the other tiles of
+     * {@code board} by deduction alone, without guessing. The tile's own row and column
+     * are looked at first and the deduction stops as soon as the tile is found.
+     * @param board the board to check. It is not modified and must have a solution.
+     * @param row the row of the tile.
+     * @param column the column of the tile.
+     * @param maxLines the number of lines looked at before giving up.
+     * @return true if the tile is empty and was deduced.
+     * @throws IllegalArgumentException if the board is not the size of this solver.
+     */
+    public boolean isDeducible(Board board, int row, int column, int maxLines) {
+        return isDeducible(board, row, column, maxLines, Technique.LINE);
+    }
+
+    /**
+     * Check if the tile at {@code (row, column)} follows from the other tiles of
+     * {@code board} using techniques no harder than {@code hardest}. See
+     * {@link #isDeducible(Board, int, int, int)}.
+     * @param hardest the hardest technique the deduction may use. {@link Technique#SEARCH} is
+     *                the same as {@link Technique#LINE}, the deduction never guesses.
+     * @return true if the tile is empty and was deduced.
+     * @throws IllegalArgumentException if the board is not the size of this solver.
+     */
+    public boolean isDeducible(Board board, int row, int column, int maxLines, Technique hardest) {
+        if (board.getSize() != size)
+            throw new IllegalArgumentException("Board size ("+board.getSize()+") does not match solver size ("+size+")");
+        if (board.getTileAt(row, column) != EMPTY) return false;
+        load(board);
+        //Look at the lines of the tile before the rest of the board
+        clearQueue();
+        enqueue(row);
+        enqueue(size + column);
+        for (int line = 0; line < 2 * size; line++) enqueue(line);
+        long columnBit = 1L << column;
+        maxTechnique = hardest.isAtMost(Technique.LINE) ? hardest : Technique.LINE;
+        try {
+            for (int linesLeft = maxLines; queueSize > 0 && linesLeft > 0; linesLeft--) {
+                int line = queue[queueHead];
+                queueHead = (queueHead + 1) % queue.length;
+                queueSize--;
+                queued[line] = false;
+                if (!propagateLine(line)) break;
+                if (((rowRed[row] | rowBlue[row]) & columnBit) != 0) return true;
+            }
+            return false;
+        } finally {
+            clearQueue();
+            maxTechnique = Technique.LINE;
+        }
+    }
+
+    /**
+     * Solve {@code board} the way a player would, always placing a tile with the easiest
+     * technique that finds one, and count the tiles each technique placed. A board that
+     * can't be finished without guessing has its guesses taken from its first solution
+     * and counted as {@link Technique#SEARCH}.
+     * @param board the board to solve. It is not modified.
+     * @return the tiles placed by each technique or null if the board has no solution.
+     * @throws IllegalArgumentException if the board is not the size of this solver.
+     */
+    public SolveTrace trace(Board board) {
+        if (search(board, 1, Integer.MAX_VALUE) == 0) return null;
+        load(board);
+        clearQueue();
+        int empty = 0;
+        for (int row = 0; row < size; row++) empty += Long.bitCount(fullMask & ~(rowRed[row] | rowBlue[row]));
+        Technique[] techniques = Technique.values();
+        Arrays.fill(traceCounts, 0);
+        tracing = true;
+        try {
+            int level = 0;
+            while (trailSize < empty) {
+                int mark = trailSize;
+                maxTechnique = techniques[level];
+                if (maxTechnique == Technique.SEARCH) {
+                    guessFromSolution();
+                } else if (level == 0) {
+                    for (int line = 0; line < 2 * size; line++) enqueue(line);
+                    if (!propagate()) return null;
+                } else {
+                    //A single line at a time, the next tile may not need this technique
+                    for (int line = 0; line < 2 * size && trailSize == mark; line++) {
+                        if (!propagateLine(line)) return null;
+                    }
+                    clearQueue();
+                }
+                //Start over from the easiest technique after every placement
+                level = trailSize > mark ? 0 : level + 1;
+            }
+            return new SolveTrace(traceCounts);
+        } finally {
+            clearQueue();
+            tracing = false;
+            maxTechnique = Technique.LINE;
+        }
+    }
+
+    /**
+     * Place the first empty tile as it is in the solution found by the last search.
+     */
+    private void guessFromSolution() {
+        for (int row = 0; row < size; row++) {
+            long empty = fullMask & ~(rowRed[row] | rowBlue[row]);
+            if (empty == 0) continue;
+            int column = Long.numberOfTrailingZeros(empty);
+            traceCounts[Technique.SEARCH.ordinal()]++;
+            place(row, column, (solutionRed[row] & (1L << column)) != 0);
+            clearQueue();
+            return;
+        }
+    }
+
+    /**
+     * Check if every solution of {@code board} has {@code tile} at {@code (row, column)}.
+     * The other color is placed on the solver's copy of the board and the search only has
+     * to show that nothing can follow from it, which usually takes a few lines around the
+     * tile. This is much cheaper than counting solutions to tell that a board with the
+     * tile taken away still has a single one.
+     * @param board the board to check. It is not modified and its tiles must be part of a solution.
+     * @param row the row of the tile.
+     * @param column the column of the tile.
+     * @param tile the color of the tile in the solution the rest of the board is part of,
+     *             either {@link Tile#RED} or
+     *             {@link Tile#BLUE}.
+     * @return true if no solution has the other color at {@code (row, column)}.
+     * @throws IllegalArgumentException if the board is not the size of this solver or tile is empty.
+     */
+    public boolean isForced(Board board, int row, int column, Tile tile) {
+        if (board.getSize() != size)
+            throw new IllegalArgumentException("Board size ("+board.getSize()+") does not match solver size ("+size+")");
+        if (tile == EMPTY) throw new IllegalArgumentException("tile must be RED or BLUE");
+        load(board);
+        this.limit = 1;
+        this.solutionCount = 0;
+        this.guessesLeft = Integer.MAX_VALUE;
+        //Only the lines the other color changes need another look, the rest of the
+        //board is part of a solution
+        clearQueue();
+        if (place(row, column, tile != RED) && propagate()) search();
+        clearQueue();
+        return solutionCount == 0;
+    }
+
+    private Board solvedCopy(Board board) {
+        Board solved = board.copy();
+        for (int row = 0; row < size; row++) {
+            for (int column = 0; column < size; column++) {
+                if (board.getTileAt(row, column) != EMPTY) continue;
+                solved.setTileAt(row, column, (solutionRed[row] & (1L << column)) != 0 ? RED : BLUE);
+            }
+        }
+        return solved;
+    }
+
+    /**
+     * Count the solutions of {@code board} without building the solved board.
+     * @param board the board to count the solutions of. It is not modified.
+     * @param limit the number of solutions after which the search stops.
+     * @return the number of solutions, at most {@code limit}.
+     * @throws IllegalArgumentException if the board is not the size of this solver or limit < 1.
+     */
+    public int countSolutions(Board board, int limit) {
+        return search(board, limit, Integer.MAX_VALUE);
+    }
+
+    private int search(Board board, int limit, int maxGuesses) {
+        if (board.getSize() != size)
+            throw new IllegalArgumentException("Board size ("+board.getSize()+") does not match solver size ("+size+")");
+        if (limit < 1) throw new IllegalArgumentException("limit must be >= 1 but was "+limit);
+        load(board);
+        this.limit = limit;
+        this.solutionCount = 0;
+        this.guessesLeft = maxGuesses;
+        if (propagate()) search();
+        return solutionCount;
+    }
+
+    private void load(Board board) {
+        for (int i = 0; i < size; i++) {
+            rowRed[i] = board.getRowMask(i, RED);
+            rowBlue[i] = board.getRowMask(i, BLUE);
+            columnRed[i] = board.getColumnMask(i, RED);
+            columnBlue[i] = board.getColumnMask(i, BLUE);
+        }
+        trailSize = 0;
+        queueHead = 0;
+        queueSize = 0;
+        for (int line = 0; line < 2 * size; line++) {
+            queued[line] = false;
+            enqueue(line);
+        }
+    }
+
+    /**
+     * Depth first search over the empty tiles. The board must be fully propagated.
+     * @return true if the search should stop because the limit was reached.
+     */
+    private boolean search() {
+        //Branch on the row with the fewest empty tiles
+        int bestRow = -1;
+        int bestEmpty = Integer.MAX_VALUE;
+        for (int row = 0; row < size; row++) {
+            int empty = Long.bitCount(fullMask & ~(rowRed[row] | rowBlue[row]));
+            if (empty > 0 && empty < bestEmpty) {
+                bestEmpty = empty;
+                bestRow = row;
+            }
+        }
+        if (bestRow == -1) {
+            //Full and every line was checked on the way here
+            if (solutionCount++ == 0) System.arraycopy(rowRed, 0, solutionRed, 0, size);
+            return solutionCount >= limit;
+        }
+        //Out of guesses, stop without a solution
+        if (guessesLeft-- <= 0) return true;
+        int column = Long.numberOfTrailingZeros(fullMask & ~(rowRed[bestRow] | rowBlue[bestRow]));
+        for (int guess = 0; guess < 2; guess++) {
+            int mark = trailSize;
+            if (place(bestRow, column, guess == 0) && propagate() && search()) return true;
+            undo(mark);
+        }
+        return false;
+    }
+
+    /**
+     * Run the work queue until it is empty or a contradiction is found.
+     * The queue is always left empty.
+     * @return false if the board cannot be solved from here.
+     */
+    private boolean propagate() {
+        while (queueSize > 0) {
+            int line = queue[queueHead];
+            queueHead = (queueHead + 1) % queue.length;
+            queueSize--;
+            queued[line] = false;
+            if (!propagateLine(line)) {
+                clearQueue();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean propagateLine(int line) {
+        boolean isRow = line < size;
+        int index = isRow ? line : line - size;
+        long[] reds = isRow ? rowRed : columnRed;
+        long[] blues = isRow ? rowBlue : columnBlue;
+        long red = reds[index];
+        long blue = blues[index];
+        int redCount = Long.bitCount(red);
+        int blueCount = Long.bitCount(blue);
+        //Too many of one color or three in a row
+        if (redCount > half || blueCount > half) return false;
+        if (hasRunOfThree(red)) return false;
+        if (hasRunOfThree(blue)) return false;
+        long empty = fullMask & ~(red | blue);
+        if (empty == 0) {
+            //No two lines can be the same
+            for (int other = 0; other < size; other++) {
+                if (other != index && reds[other] == red && blues[other] == blue) return false;
+            }
+            return true;
+        }
+        Technique hardest = maxTechnique;
+        Technique count = isRow ? Technique.ROW_COUNT : Technique.COLUMN_COUNT;
+        Technique unique = isRow ? Technique.UNIQUE_ROW : Technique.UNIQUE_COLUMN;
+        //Tiles next to a duo or between two of the same color must be the opposite color
+        long duoBlue = duoCandidates(red) & empty;
+        long duoRed = duoCandidates(blue) & empty;
+        long trioBlue = 0L;
+        long trioRed = 0L;
+        if (Technique.TRIO.isAtMost(hardest)) {
+            trioBlue = trioCandidates(red) & empty;
+            trioRed = trioCandidates(blue) & empty;
+        }
+        //A line with half of one color must have the rest of the other color
+        long countBlue = redCount == half && count.isAtMost(hardest) ? empty : 0L;
+        long countRed = blueCount == half && count.isAtMost(hardest) ? empty : 0L;
+        //Two empty tiles that would copy a full line must be the opposite of that line
+        long uniqueBlue = 0L;
+        long uniqueRed = 0L;
+        if (Long.bitCount(empty) == 2 && redCount == half - 1 && unique.isAtMost(hardest)) {
+            for (int other = 0; other < size; other++) {
+                if ((reds[other] | blues[other]) != fullMask) continue;
+                if ((reds[other] & ~empty) != red) continue;
+                uniqueBlue |= reds[other] & empty;
+                uniqueRed |= blues[other] & empty;
+            }
+        }
+        long mustBeRed = duoRed | trioRed | countRed | uniqueRed;
+        long mustBeBlue = duoBlue | trioBlue | countBlue | uniqueBlue;
+        if ((mustBeRed & mustBeBlue) != 0) return false;
+        if ((mustBeRed | mustBeBlue) == 0 && Technique.LINE.isAtMost(hardest)) {
+            //Nothing simple to place, look for tiles that make the line impossible to complete
+            findCompletions(red, blue);
+            if ((empty & ~(canBeRed | canBeBlue)) != 0) return false;
+            mustBeRed = empty & ~canBeBlue;
+            mustBeBlue = empty & ~canBeRed;
+            if (tracing) return placeTraced(isRow, index, mustBeRed, mustBeBlue, Technique.LINE);
+        }
+        if (tracing) {
+            //Credit every tile to the easiest technique that finds it
+            return placeTraced(isRow, index, duoRed, duoBlue, Technique.DUO)
+                    && placeTraced(isRow, index, trioRed, trioBlue, Technique.TRIO)
+                    && placeTraced(isRow, index, countRed, countBlue, count)
+                    && placeTraced(isRow, index, uniqueRed, uniqueBlue, unique);
+        }
+        return placeAll(isRow, index, mustBeRed, true) && placeAll(isRow, index, mustBeBlue, false);
+    }
+
+    private boolean placeTraced(boolean isRow, int index, long red, long blue, Technique technique) {
+        long filled = isRow ? rowRed[index] | rowBlue[index] : columnRed[index] | columnBlue[index];
+        traceCounts[technique.ordinal()] += Long.bitCount((red | blue) & ~filled);
+        return placeAll(isRow, index, red, true) && placeAll(isRow, index, blue, false);
+    }
+
+    /**
+     * Find the empty tiles of a line that can hold each color and still leave a line
+     * with equal counts and no three in a row. Walks the line forward recording the
+     * reachable states and backward recording which of them can still be completed,
+     * then sets {@link #canBeRed} and {@link #canBeBlue} from both walks.
+     * A state packs the red count, the color of the last tile and the length of its run.
+     */
+    private void findCompletions(long red, long blue) {
+        int slot = (int) (((red * 31 + blue) * 0x9E3779B97F4A7C15L) >>> (Long.SIZE - CACHE_BITS));
+        //An empty entry has no completions so it can never be mistaken for an empty line
+        if (cachedRed[slot] == red && cachedBlue[slot] == blue && (cachedCanBeRed[slot] | cachedCanBeBlue[slot]) != 0) {
+            canBeRed = cachedCanBeRed[slot];
+            canBeBlue = cachedCanBeBlue[slot];
+            return;
+        }
+        int states = stateCount;
+        Arrays.fill(reachable, 0, (size + 1) * states, false);
+        Arrays.fill(completable, 0, (size + 1) * states, false);
+        reachable[startState] = true;
+        for (int position = 0; position < size; position++) {
+            for (int state = 0; state < states; state++) {
+                if (!reachable[position * states + state]) continue;
+                for (int color = 0; color < 2; color++) {
+                    int next = nextState(state, color, position, red, blue);
+                    if (next >= 0) reachable[(position + 1) * states + next] = true;
+                }
+            }
+        }
+        for (int state = 0; state < startState; state++) {
+            completable[size * states + state] = state / 4 == half;
+        }
+        if (size == 0) completable[startState] = true;
+        long possibleRed = 0L;
+        long possibleBlue = 0L;
+        //Only reachable states matter and the states they lead to are reachable too
+        for (int position = size - 1; position >= 0; position--) {
+            long bit = 1L << position;
+            for (int state = 0; state < states; state++) {
+                if (!reachable[position * states + state]) continue;
+                for (int color = 0; color < 2; color++) {
+                    int next = nextState(state, color, position, red, blue);
+                    if (next < 0 || !completable[(position + 1) * states + next]) continue;
+                    completable[position * states + state] = true;
+                    if (color == 0) possibleRed |= bit;
+                    else possibleBlue |= bit;
+                }
+            }
+        }
+        canBeRed = possibleRed;
+        canBeBlue = possibleBlue;
+        cachedRed[slot] = red;
+        cachedBlue[slot] = blue;
+        cachedCanBeRed[slot] = possibleRed;
+        cachedCanBeBlue[slot] = possibleBlue;
+    }
+
+    /**
+     * @param color 0 for red and 1 for blue.
+     * @return the state after placing {@code color} at {@code position} or -1 if it is not allowed.
+     */
+    private int nextState(int state, int color, int position, long red, long blue) {
+        long bit = 1L << position;
+        if (((color == 0 ? blue : red) & bit) != 0) return -1;
+        int redCount;
+        int runLength;
+        if (state == startState) {
+            redCount = 0;
+            runLength = 1;
+        } else {
+            redCount = state / 4;
+            int lastColor = (state / 2) % 2;
+            runLength = lastColor == color ? state % 2 + 2 : 1;
+            if (runLength > 2) return -1;
+        }
+        if (color == 0) redCount++;
+        if (redCount > half || position + 1 - redCount > half) return -1;
+        return redCount * 4 + color * 2 + runLength - 1;
+    }
+
+    /**
+     * @param colorMask the tiles of a single color in a line.
+     * @return the positions next to two tiles in a row that would make three in a row if they were the same color.
+     */
+    private static long duoCandidates(long colorMask) {
+        long pairs = colorMask & (colorMask >>> 1);
+        return (pairs >>> 1) | (pairs << 2);
+    }
+
+    /**
+     * @param colorMask the tiles of a single color in a line.
+     * @return the positions between two tiles that would make three in a row if they were the same color.
+     */
+    private static long trioCandidates(long colorMask) {
+        long gaps = colorMask & (colorMask >>> 2);
+        return gaps << 1;
+    }
+
+    private boolean placeAll(boolean isRow, int index, long cells, boolean red) {
+        while (cells != 0) {
+            int position = Long.numberOfTrailingZeros(cells);
+            cells &= cells - 1;
+            boolean placed = isRow ? place(index, position, red) : place(position, index, red);
+            if (!placed) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Place a tile and queue its row and column.
+     * @return false if the tile already holds the other color.
+     */
+    private boolean place(int row, int column, boolean red) {
+        long columnBit = 1L << column;
+        if (((red ? rowBlue : rowRed)[row] & columnBit) != 0) return false;
+        if (((red ? rowRed : rowBlue)[row] & columnBit) != 0) return true;
+        long rowBit = 1L << row;
+        if (red) {
+            rowRed[row] |= columnBit;
+            columnRed[column] |= rowBit;
+        } else {
+            rowBlue[row] |= columnBit;
+            columnBlue[column] |= rowBit;
+        }
+        trail[trailSize++] = row * size + column;
+        lineChanged(row, rowRed, rowBlue, 0);
+        lineChanged(column, columnRed, columnBlue, size);
+        return true;
+    }
+
+    private void lineChanged(int index, long[] reds, long[] blues, int lineOffset) {
+        enqueue(lineOffset + index);
+        long empty = fullMask & ~(reds[index] | blues[index]);
+        if (empty == 0) {
+            //A newly full line can make nearly full lines unique
+            for (int other = 0; other < size; other++) {
+                if (Long.bitCount(fullMask & ~(reds[other] | blues[other])) == 2) enqueue(lineOffset + other);
+            }
+        }
+    }
+
+    private void enqueue(int line) {
+        if (queued[line]) return;
+        queued[line] = true;
+        queue[(queueHead + queueSize) % queue.length] = line;
+        queueSize++;
+    }
+
+    private void clearQueue() {
+        while (queueSize > 0) {
+            queued[queue[queueHead]] = false;
+            queueHead = (queueHead + 1) % queue.length;
+            queueSize--;
+        }
+    }
+
+    private void undo(int mark) {
+        while (trailSize > mark) {
+            int cell = trail[--trailSize];
+            int row = cell / size;
+            int column = cell % size;
+            rowRed[row] &= ~(1L << column);
+            rowBlue[row] &= ~(1L << column);
+            columnRed[column] &= ~(1L << row);
+            columnBlue[column] &= ~(1L << row);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+import cas.se3xa3.bitsplease.model.Board;
+
+/**
+ * The outcome of a complete solve. See {@link ConstraintSolver}.
+ * Created on 17/10/2026.
+ */
+public class Solution {
+    private Board board;
+    private int solutionCount;
+
+    public Solution(Board board, int solutionCount) {
+        this.board = board;
+        this.solutionCount = solutionCount;
+    }
+
+    /**
+     * The first solution found.
+     * @return a full board or null if {@link Solution#getSolutionCount()} == 0.
+     */
+    public Board getBoard() {
+        return board;
+    }
+
+    /**
+     * The number of solutions found. The search stops early so this is capped
+     * at the limit given to the solver.
+     * @return the number of distinct solutions found.
+     */
+    public int getSolutionCount() {
+        return solutionCount;
+    }
+
+    /**
+     * @return true if there is at least one solution.
+     */
+    public boolean isSolvable() {
+        return solutionCount > 0;
+    }
+
+    /**
+     * @return true if there is exactly one solution.
+     */
+    public boolean isUnique() {
+        return solutionCount == 1;
+    }
+}
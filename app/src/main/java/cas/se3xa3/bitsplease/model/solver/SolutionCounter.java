@@ -0,0 +1,156 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.model.checker.LineIndex;
+import cas.se3xa3.bitsplease.model.generator.ValidLines;
+
+import java.util.Arrays;
+
+/**
+ * Created on 17/10/2026.
+ * Counts the solutions of a board by placing whole rows. Each row of the board is
+ * filled with one of the rows from the shared {@link ValidLines} table that agrees with
+ * its tiles and with the two rows above, and the columns are checked as the rows are stacked.
+ * Rows are kept as masks with bit {@code column} set for {@link Tile#BLUE}.<br>
+ * The generator proves uniqueness with the {@link ConstraintSolver}. This counter shares
+ * none of its code and is kept as a second opinion, the tests check the generated
+ * puzzles against it.<br>
+ * Instances are not thread safe but may be reused for any number of boards of the same size.
+ */
+public class SolutionCounter {
+    private final int size;
+    private final int half;
+    private final long fullMask;
+    private final ValidLines validRows;
+
+    //Scratch space for a single count
+    private final int[][] candidates;
+    private final int[] candidateCount;
+    private final int[][] compatible;
+    private final boolean[][] agrees;
+    private final long[] chosen;
+    private final int[] blueInColumn;
+    private final long[] columns;
+    private final LineIndex columnIndex;
+    private int limit;
+    private int solutionCount;
+
+    /**
+     * Create a counter for boards of the given size.
+     * @param size the size of the boards to count.
+     */
+    public SolutionCounter(int size) {
+        this.size = size;
+        this.half = size / 2;
+        this.fullMask = (1L << size) - 1;
+        this.validRows = ValidLines.forSize(size);
+        this.candidates = new int[size][validRows.count()];
+        this.candidateCount = new int[size];
+        this.compatible = new int[size][validRows.count()];
+        this.agrees = new boolean[size][validRows.count()];
+        this.chosen = new long[size];
+        this.blueInColumn = new int[size];
+        this.columns = new long[size];
+        this.columnIndex = new LineIndex();
+    }
+
+    /**
+     * Count the solutions of {@code board}.
+     * @param board the board to count the solutions of. It is not modified.
+     * @param limit the number of solutions after which the search stops.
+     * @return the number of solutions, at most {@code limit}.
+     * @throws IllegalArgumentException if the board is not the size of this counter or limit < 1.
+     */
+    public int countSolutions(Board board, int limit) {
+        if (board.getSize() != size)
+            throw new IllegalArgumentException("Board size ("+board.getSize()+") does not match counter size ("+size+")");
+        if (limit < 1) throw new IllegalArgumentException("limit must be >= 1 but was "+limit);
+        //Only keep the rows that agree with the tiles already placed
+        for (int row = 0; row < size; row++) {
+            long red = board.getRowMask(row, Tile.RED);
+            long blue = board.getRowMask(row, Tile.BLUE);
+            candidateCount[row] = 0;
+            for (int i = 0; i < validRows.count(); i++) {
+                long validRow = validRows.get(i);
+                agrees[row][i] = (validRow & red) == 0 && (blue & ~validRow) == 0;
+                if (agrees[row][i]) candidates[row][candidateCount[row]++] = i;
+            }
+            if (candidateCount[row] == 0) return 0;
+        }
+        this.limit = limit;
+        this.solutionCount = 0;
+        for (int column = 0; column < size; column++) blueInColumn[column] = 0;
+        placeRow(0);
+        return solutionCount;
+    }
+
+    /**
+     * @return true if the search should stop because the limit was reached.
+     */
+    private boolean placeRow(int row) {
+        if (row == size) {
+            if (columnsAreUnique()) solutionCount++;
+            return solutionCount >= limit;
+        }
+        //A column missing more than twice as many tiles of one color as the other can only
+        //be finished if it gets that color next
+        long mustBeBlue = 0L;
+        long mustBeRed = 0L;
+        for (int column = 0; column < size; column++) {
+            int blueNeeded = half - blueInColumn[column];
+            int redNeeded = half - (row - blueInColumn[column]);
+            if (blueNeeded > 2 * redNeeded) mustBeBlue |= 1L << column;
+            if (redNeeded > 2 * blueNeeded) mustBeRed |= 1L << column;
+        }
+        //Walk the shorter of the rows that agree with the tiles and the rows that
+        //don't make three of the same color in a column
+        int compatibleCount = validRows.compatibleWith(row >= 2 ? chosen[row - 2] : -1,
+                row >= 1 ? chosen[row - 1] : -1, compatible[row]);
+        boolean byTiles = candidateCount[row] < compatibleCount;
+        int[] walk = byTiles ? candidates[row] : compatible[row];
+        int walkLength = byTiles ? candidateCount[row] : compatibleCount;
+        CandidateLoop:
+        for (int i = 0; i < walkLength; i++) {
+            int index = walk[i];
+            long candidate = validRows.get(index);
+            if (byTiles ? !isCompatible(row, candidate) : !agrees[row][index]) continue;
+            if ((candidate & mustBeRed) != 0 || (mustBeBlue & ~candidate) != 0) continue;
+            for (int previous = 0; previous < row; previous++) {
+                if (chosen[previous] == candidate) continue CandidateLoop;
+            }
+            chosen[row] = candidate;
+            count(candidate, 1);
+            boolean stop = placeRow(row + 1);
+            count(candidate, -1);
+            if (stop) return true;
+        }
+        return false;
+    }
+
+    private boolean isCompatible(int row, long candidate) {
+        if (row < 2) return true;
+        long above = chosen[row - 1];
+        long twoAbove = chosen[row - 2];
+        return (candidate & above & twoAbove) == 0 && (fullMask & ~(candidate | above | twoAbove)) == 0;
+    }
+
+    private void count(long row, int amount) {
+        while (row != 0) {
+            blueInColumn[Long.numberOfTrailingZeros(row)] += amount;
+            row &= row - 1;
+        }
+    }
+
+    private boolean columnsAreUnique() {
+        Arrays.fill(columns, 0L);
+        for (int row = 0; row < size; row++) {
+            long blue = chosen[row];
+            while (blue != 0) {
+                columns[Long.numberOfTrailingZeros(blue)] |= 1L << row;
+                blue &= blue - 1;
+            }
+        }
+        return columnIndex.areUnique(columns, size);
+    }
+}
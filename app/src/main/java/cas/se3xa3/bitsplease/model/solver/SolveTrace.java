@@ -0,0 +1,46 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+/**
+ * Created on 17/10/2026.
+ * The number of tiles each {@link Technique} placed while solving a board.
+ * See {@link ConstraintSolver#trace(cas.se3xa3.bitsplease.model.Board)}.
+ */
+public class SolveTrace {
+    private static final Technique[] TECHNIQUES = Technique.values();
+
+    private final int[] counts;
+
+    /**
+     * @param counts the number of tiles placed by each technique, indexed by ordinal.
+     */
+    SolveTrace(int[] counts) {
+        this.counts = counts.clone();
+    }
+
+    /**
+     * @param technique the technique to look up.
+     * @return the number of tiles placed with {@code technique}.
+     */
+    public int getCount(Technique technique) {
+        return counts[technique.ordinal()];
+    }
+
+    /**
+     * @return the number of tiles placed.
+     */
+    public int getPlacements() {
+        int placements = 0;
+        for (int count : counts) placements += count;
+        return placements;
+    }
+
+    /**
+     * @return the hardest technique needed or null if no tile was placed.
+     */
+    public Technique getHardest() {
+        for (int technique = counts.length - 1; technique >= 0; technique--) {
+            if (counts[technique] > 0) return TECHNIQUES[technique];
+        }
+        return null;
+    }
+}
@@ -0,0 +1,65 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+import cas.se3xa3.bitsplease.model.Board;
+
+import java.util.stream.Stream;
+
+/**
+ * Created on 17/10/2026.
+ * Solves boards of any size from any number of threads. Every thread gets its own
+ * {@link ConstraintSolver} per size the first time it solves a board of that size and
+ * keeps reusing it, so no state is shared between threads. The search itself allocates
+ * nothing, only the {@link Solution} and the solved copy of the board it holds are
+ * created per board.<br>
+ * Boards are only read. The same board may be solved by several threads at once as long
+ * as none of them changes it.
+ */
+public final class Solvers {
+    //Solvers of the calling thread, indexed by size
+    private static final ThreadLocal<ConstraintSolver[]> SOLVERS =
+            ThreadLocal.withInitial(() -> new ConstraintSolver[Board.MAX_SIZE + 1]);
+
+    private Solvers() {
+    }
+
+    private static ConstraintSolver solverFor(int size) {
+        ConstraintSolver[] solvers = SOLVERS.get();
+        ConstraintSolver solver = solvers[size];
+        if (solver == null) {
+            solver = new ConstraintSolver(size);
+            solvers[size] = solver;
+        }
+        return solver;
+    }
+
+    /**
+     * Solve {@code board} looking for up to {@link ConstraintSolver#DEFAULT_LIMIT} solutions.
+     * @param board the board to solve. It is not modified.
+     * @return the first solution found and the number of solutions.
+     */
+    public static Solution solve(Board board) {
+        return solve(board, ConstraintSolver.DEFAULT_LIMIT);
+    }
+
+    /**
+     * Solve {@code board} looking for up to {@code limit} solutions.
+     * @param board the board to solve. It is not modified.
+     * @param limit the number of solutions after which the search stops.
+     * @return the first solution found and the number of solutions, at most {@code limit}.
+     * @throws IllegalArgumentException if limit < 1.
+     */
+    public static Solution solve(Board board, int limit) {
+        return solverFor(board.getSize()).solve(board, limit);
+    }
+
+    /**
+     * Solve every board of {@code boards} on the common fork join pool. Nothing is
+     * solved until the returned stream is consumed, its solutions are in the same
+     * order as the boards unless it is made unordered.
+     * @param boards the boards to solve, none of them is modified.
+     * @return the solution of every board, see {@link #solve(Board)}.
+     */
+    public static Stream<Solution> solveAll(Stream<Board> boards) {
+        return boards.parallel().map(Solvers::solve);
+    }
+}
@@ -0,0 +1,48 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+/**
+ * Created on 17/10/2026.
+ * The ways a tile can be placed, from the easiest to spot to the hardest.
+ * See {@link ConstraintSolver#trace(cas.se3xa3.bitsplease.model.Board)}.
+ */
+public enum Technique {
+    /**
+     * The tile is next to two of the same color.
+     */
+    DUO,
+    /**
+     * The tile is between two of the same color.
+     */
+    TRIO,
+    /**
+     * Half of the row already has the other color.
+     */
+    ROW_COUNT,
+    /**
+     * Half of the column already has the other color.
+     */
+    COLUMN_COUNT,
+    /**
+     * The other color would make the row the same as a full row.
+     */
+    UNIQUE_ROW,
+    /**
+     * The other color would make the column the same as a full column.
+     */
+    UNIQUE_COLUMN,
+    /**
+     * Every way to finish the line with the other color breaks a rule.
+     */
+    LINE,
+    /**
+     * Nothing in a single line gives the tile away, it has to be guessed.
+     */
+    SEARCH;
+
+    /**
+     * @return true if this technique is no harder than {@code other}.
+     */
+    public boolean isAtMost(Technique other) {
+        return ordinal() <= other.ordinal();
+    }
+}
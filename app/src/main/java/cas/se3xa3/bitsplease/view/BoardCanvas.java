@@ -0,0 +1,189 @@
+package cas.se3xa3.bitsplease.view;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.view.themes.Theme;
+
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.beans.PropertyChangeEvent;
+
+/**
+ * Created on 17/10/2026.
+ * A {@link BoardView} drawn by a single component. Every look a tile can have, its
+ * color and whether it is highlighted or marked as locked, is drawn once into a sprite
+ * the size of a tile and the board is painted by copying sprites. The sprites are drawn
+ * again when the tile size or the theme changes.<br>
+ * Tiles are drawn the same way as a {@link TileView}.
+ */
+public class BoardCanvas extends BoardView {
+    private static final Tile[] TILES = Tile.values();
+    //A sprite for every color, highlight and lock mark
+    private static final int HIGHLIGHTED = 1;
+    private static final int LOCK_MARKED = 2;
+    private static final int LOOKS = TILES.length * 4;
+
+    private final int size;
+    //The look each tile was last painted with, indexed row * size + col
+    private final byte[] looks;
+    private final boolean[] highlighted;
+
+    private final Image[] sprites = new Image[LOOKS];
+    private int spriteSize = -1;
+
+    public BoardCanvas(Board board, Theme theme) {
+        super(board, theme);
+        this.size = board.getSize();
+        this.looks = new byte[size * size];
+        this.highlighted = new boolean[size * size];
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent mouseEvent) {
+                int tileSize = tileSize();
+                if (tileSize == 0) return;
+                int x = mouseEvent.getX() - left(tileSize);
+                int y = mouseEvent.getY() - top(tileSize);
+                if (x < 0 || y < 0) return;
+                int row = y / tileSize;
+                int col = x / tileSize;
+                if (row < size && col < size) fireTileClicked(row, col);
+            }
+        });
+        for (int tile = 0; tile < looks.length; tile++) looks[tile] = (byte) lookOf(tile / size, tile % size);
+    }
+
+    private int tileSize() {
+        return Math.min(getWidth(), getHeight()) / size;
+    }
+
+    //The board is centered like the tiles of a GridLayout
+    private int left(int tileSize) {
+        return (getWidth() - tileSize * size) / 2;
+    }
+
+    private int top(int tileSize) {
+        return (getHeight() - tileSize * size) / 2;
+    }
+
+    private int lookOf(int row, int col) {
+        int look = board.getTileAt(row, col).ordinal() * 4;
+        if (highlighted[row * size + col]) look |= HIGHLIGHTED;
+        if (isDisplayLocked() && board.isLocked(row, col)) look |= LOCK_MARKED;
+        return look;
+    }
+
+    /**
+     * Read the look of a tile from the board and repaint it if it changed.
+     */
+    private void refresh(int row, int col) {
+        int look = lookOf(row, col);
+        if (looks[row * size + col] == look) return;
+        looks[row * size + col] = (byte) look;
+        int tileSize = tileSize();
+        repaint(left(tileSize) + col * tileSize, top(tileSize) + row * tileSize, tileSize, tileSize);
+    }
+
+    @Override
+    public void update() {
+        for (int row = 0; row < size; row++) {
+            for (int col = 0; col < size; col++) refresh(row, col);
+        }
+    }
+
+    @Override
+    public void update(int row, int col) {
+        refresh(row, col);
+    }
+
+    @Override
+    protected void showHighlight(int row, int col, boolean highlighted) {
+        this.highlighted[row * size + col] = highlighted;
+        refresh(row, col);
+    }
+
+    @Override
+    protected void showLocked(boolean displayLocked) {
+        update();
+    }
+
+    @Override
+    protected void themeChanged(PropertyChangeEvent themeEvent) {
+        spriteSize = -1;
+        repaint();
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        super.paintComponent(graphics);
+        int tileSize = tileSize();
+        if (tileSize == 0) return;
+        if (tileSize != spriteSize) drawSprites(tileSize);
+        int left = left(tileSize);
+        int top = top(tileSize);
+        //Only the tiles inside the clip need painting
+        Rectangle clip = graphics.getClipBounds();
+        int firstRow = 0, lastRow = size - 1, firstCol = 0, lastCol = size - 1;
+        if (clip != null) {
+            firstRow = Math.max(0, Math.floorDiv(clip.y - top, tileSize));
+            lastRow = Math.min(size - 1, Math.floorDiv(clip.y + clip.height - 1 - top, tileSize));
+            firstCol = Math.max(0, Math.floorDiv(clip.x - left, tileSize));
+            lastCol = Math.min(size - 1, Math.floorDiv(clip.x + clip.width - 1 - left, tileSize));
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            for (int col = firstCol; col <= lastCol; col++) {
+                graphics.drawImage(sprites[looks[row * size + col]], left + col * tileSize, top + row * tileSize, null);
+            }
+        }
+    }
+
+    private void drawSprites(int tileSize) {
+        GraphicsConfiguration configuration = getGraphicsConfiguration();
+        for (int look = 0; look < LOOKS; look++) {
+            BufferedImage sprite = configuration == null
+                    ? new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB)
+                    : configuration.createCompatibleImage(tileSize, tileSize, Transparency.TRANSLUCENT);
+            Graphics2D g2d = sprite.createGraphics();
+            g2d.setFont(getFont());
+            drawTile(g2d, tileSize, TILES[look / 4], (look & HIGHLIGHTED) != 0, (look & LOCK_MARKED) != 0);
+            g2d.dispose();
+            sprites[look] = sprite;
+        }
+        spriteSize = tileSize;
+    }
+
+    /**
+     * Draw a tile the way {@link TileView#paint(Graphics)} does.
+     */
+    private void drawTile(Graphics2D g2d, int size, Tile tile, boolean highlighted, boolean lockMarked) {
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        switch (tile) {
+            case RED: g2d.setColor(theme.redTileColor());
+                break;
+            case BLUE: g2d.setColor(theme.blueTileColor());
+                break;
+            default: g2d.setColor(theme.emptyTileColor());
+                break;
+        }
+        int gap = size / 30;
+        g2d.fillRoundRect(gap, gap, size - (2 * gap), size - (2 * gap), size / 3, size / 3);
+
+        if (theme.tileOverlay() != null) {
+            g2d.setClip(new RoundRectangle2D.Double(gap, gap, size - (2 * gap), size - (2 * gap), size / 3, size / 3));
+            g2d.drawImage(theme.tileOverlay(), 0, 0, size, size, null);
+            g2d.setClip(null);
+        }
+
+        if (lockMarked) {
+            g2d.setColor(Color.BLACK);
+            g2d.drawString("X", size / 2, size / 2);
+        }
+        if (highlighted) {
+            g2d.setStroke(new BasicStroke(size / 30, BasicStroke.CAP_ROUND, BasicStroke.JOIN_ROUND));
+            g2d.setColor(Color.WHITE);
+            g2d.drawRoundRect(0, 0, size, size, size / 3, size / 3);
+        }
+    }
+}
@@ -3,82 +3,94 @@ package cas.se3xa3.bitsplease.view;
 import cas.se3xa3.bitsplease.controller.TileClickedListener;
 import cas.se3xa3.bitsplease.model.Board;
 import cas.se3xa3.bitsplease.model.Coordinate;
-import cas.se3xa3.bitsplease.model.Tile;
 import cas.se3xa3.bitsplease.view.themes.Theme;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.stream.IntStream;
 
 /**
  * Created on 11/11/2015.
+ * A view of a board that reports clicks on its tiles. See {@link #create(Board, Theme)}
+ * for the available renderers.
  */
-public class BoardView extends JPanel implements PropertyChangeListener {
-    private Board board;
+public abstract class BoardView extends JPanel implements PropertyChangeListener {
+    /**
+     * Boards of this size and larger are drawn by a {@link BoardCanvas} instead of
+     * a {@link TileGridView}.
+     */
+    public static final int CANVAS_SIZE = 16;
+
+    protected final Board board;
+    protected Theme theme;
     private boolean dispLocked = false;
     private Set<Coordinate> highlights;
     private Set<TileClickedListener> listeners;
-    private Theme theme;
 
-    public BoardView(Board board, Theme theme) {
+    protected BoardView(Board board, Theme theme) {
         this.setSize(400, 400);
         this.board = board;
         this.theme = theme;
         this.listeners = new HashSet<>();
         this.highlights = new HashSet<>();
-        int size = board.getSize();
-        this.setLayout(new GridLayout(size, size));
-        IntStream.range(0, size * size).forEach(coordData -> {
-            final int row = coordData / size;
-            final int col = coordData % size;
-            TileView view = new TileView(row, col, theme);
-            view.setColor(getColorFor(board.getTileAt(row, col)));
-            add(view);
-            addPropertyChangeListener("board", view);
-            addPropertyChangeListener("dispLocked", view);
-            addPropertyChangeListener("highlights", view);
-            addPropertyChangeListener("theme", view);
-            view.addMouseListener(new MouseAdapter() {
-                @Override
-                public void mousePressed(MouseEvent mouseEvent) {
-                    listeners.forEach(listener -> listener.onTileClick(row, col));
-                }
-            });
-        });
-        update();
     }
 
-    private Color getColorFor(Tile tile) {
-        switch (tile) {
-            case RED: return theme.redTileColor();
-            case BLUE: return theme.blueTileColor();
-            default: return theme.emptyTileColor();
-        }
+    /**
+     * Create the view best suited to the size of {@code board}. Small boards get a
+     * component per tile, larger ones are drawn by a single component.
+     * @param board the board to view.
+     * @param theme the theme to draw the board with.
+     * @return the view.
+     */
+    public static BoardView create(Board board, Theme theme) {
+        return board.getSize() >= CANVAS_SIZE ? new BoardCanvas(board, theme) : new TileGridView(board, theme);
     }
 
     /**
-     * Ask this view to reevaluate the model it represents.
+     * Ask this view to reevaluate the model it represents. Only the tiles that
+     * changed are repainted.
+     */
+    public abstract void update();
+
+    /**
+     * Ask this view to reevaluate a single tile of the model it represents.
+     * @param row the index of the row of the tile.
+     * @param col the index of the column of the tile.
+     */
+    public abstract void update(int row, int col);
+
+    /**
+     * Show or hide the highlight of a single tile, repainting it if needed.
+     */
+    protected abstract void showHighlight(int row, int col, boolean highlighted);
+
+    /**
+     * Show or hide the mark on the locked tiles, repainting them if needed.
      */
-    public void update() {
-        firePropertyChange("board", null, board);
-        repaint();
+    protected abstract void showLocked(boolean displayLocked);
+
+    /**
+     * Redraw every tile with the new theme of {@code themeEvent}. {@link #theme} is
+     * still the old theme while this runs.
+     */
+    protected abstract void themeChanged(PropertyChangeEvent themeEvent);
+
+    /**
+     * Let the listeners know a tile was clicked.
+     */
+    protected void fireTileClicked(int row, int col) {
+        listeners.forEach(listener -> listener.onTileClick(row, col));
     }
 
     /**
      * Clear all highlights from this board.
      */
     public void clearHighlights() {
-        if (!highlights.isEmpty()) {
-            this.highlights.clear();
-            firePropertyChange("highlights", null, highlights);
-        }
+        highlights.forEach(coord -> showHighlight(coord.getRow(), coord.getColumn(), false));
+        highlights.clear();
     }
 
     /**
@@ -88,17 +100,25 @@ public class BoardView extends JPanel implements PropertyChangeListener {
      * @param highlight true to highlight the tile, false otherwise.
      */
     public void highlight(int row, int col, boolean highlight) {
-        this.highlights.add(new Coordinate(row, col));
-        firePropertyChange("highlights", null, highlights);
+        if (highlight) this.highlights.add(new Coordinate(row, col));
+        else           this.highlights.remove(new Coordinate(row, col));
+        showHighlight(row, col, highlight);
     }
 
     /**
-     * Set the coordinates of the tiles to highlight.
+     * Set the coordinates of the tiles to highlight. Only the tiles that gain or
+     * lose their highlight are repainted.
      * @param coords the coordinates to highlight.
      */
     public void setHighlights(Set<Coordinate> coords) {
-        firePropertyChange("highlights", highlights, coords);
-        this.highlights = coords;
+        highlights.stream()
+                .filter(coord -> !coords.contains(coord))
+                .forEach(coord -> showHighlight(coord.getRow(), coord.getColumn(), false));
+        coords.stream()
+                .filter(coord -> !highlights.contains(coord))
+                .forEach(coord -> showHighlight(coord.getRow(), coord.getColumn(), true));
+        //Keep a copy, clearing the highlights must not clear the caller's set
+        this.highlights = new HashSet<>(coords);
     }
 
     @Override
@@ -124,19 +144,21 @@ public class BoardView extends JPanel implements PropertyChangeListener {
         this.listeners.remove(listener);
     }
 
-    @Override
-    public void setBackground(Color background) {
-        super.setBackground(background);
-        Arrays.stream(this.getComponents()).forEach(comp -> comp.setBackground(background));
-    }
-
     /**
      * Set the {@code dispLocked} property of this board.
      * @param displayLocked true to visual mark locked tiles.
      */
     public void setDisplayLocked(boolean displayLocked) {
-        firePropertyChange("dispLocked", this.dispLocked, displayLocked);
+        if (this.dispLocked == displayLocked) return;
         this.dispLocked = displayLocked;
+        showLocked(displayLocked);
+    }
+
+    /**
+     * @return true if locked tiles are visually marked.
+     */
+    public boolean isDisplayLocked() {
+        return dispLocked;
     }
 
     /**
@@ -150,10 +172,9 @@ public class BoardView extends JPanel implements PropertyChangeListener {
 
     @Override
     public void propertyChange(PropertyChangeEvent propertyChangeEvent) {
-        if (propertyChangeEvent.getPropertyName().equals("theme"))
+        if (propertyChangeEvent.getPropertyName().equals("theme")) {
+            themeChanged(propertyChangeEvent);
             this.theme = ((Theme) propertyChangeEvent.getNewValue());
-        //Propagate
-        Arrays.stream(getPropertyChangeListeners(propertyChangeEvent.getPropertyName()))
-                .forEach(listener -> listener.propertyChange(propertyChangeEvent));
+        }
     }
 }
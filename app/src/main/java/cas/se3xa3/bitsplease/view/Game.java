@@ -1,12 +1,15 @@
 package cas.se3xa3.bitsplease.view;
 
 import cas.se3xa3.bitsplease.controller.GameSession;
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import com.google.gson.JsonParseException;
 
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.image.BufferedImage;
 import java.io.IOException;
+import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 
@@ -34,7 +37,7 @@ public class Game {
         //window.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         //window.setExtendedState(JFrame.MAXIMIZED_BOTH);
 
-        mainScreen = new JPanel(new GridLayout(5, 1, 10, 10));
+        mainScreen = new JPanel(new GridLayout(6, 1, 10, 10));
         mainScreen.setBackground(Color.DARK_GRAY.darker().darker());
 
         BufferedImage image = ImageIO.read(Game.class.getClassLoader().getResource("logo.png"));
@@ -50,8 +53,10 @@ public class Game {
         JButton about = new JButton("About");
         JButton rules = new JButton("How To Play");
         JButton play = new JButton("Play");
+        JButton resume = new JButton("Resume");
+        resume.setEnabled(session.hasSavedGame());
 
-        JButton[] buttons = { about, rules, play };
+        JButton[] buttons = { about, rules, play, resume };
 
         for (JButton button : buttons) {
             button.setOpaque(false);
@@ -64,6 +69,7 @@ public class Game {
 
         mainScreen.add(logo);
         mainScreen.add(play);
+        mainScreen.add(resume);
         mainScreen.add(about);
         mainScreen.add(rules);
         mainScreen.add(author);
@@ -169,23 +175,57 @@ public class Game {
         });
 
         play.addActionListener(pressEvent -> {
-            int selection = JOptionPane.showOptionDialog(
+            //Every even size the generator accepts
+            Integer[] sizes = IntStream.rangeClosed(BoardGenerator.MIN_SIZE / 2, BoardGenerator.MAX_SIZE / 2)
+                    .mapToObj(half -> half * 2)
+                    .toArray(Integer[]::new);
+            Integer size = (Integer) JOptionPane.showInputDialog(
                     window,
                     "Select the board size.",
                     "Select a size",
-                    JOptionPane.OK_CANCEL_OPTION,
                     JOptionPane.QUESTION_MESSAGE,
                     null,
-                    new Integer[]{4, 6, 8, 10, 12},
-                    null
+                    sizes,
+                    sizes[0]
             );
-            if (selection == JOptionPane.CLOSED_OPTION) return;
-            int size = (selection + 2) * 2;
-            session.startNewGame(size);
+            if (size == null) return;
+            //Large puzzles take a while, show that one is coming until the game starts
+            setContents(generatingScreen(size));
+            session.startNewGame(size, () -> setContents(session.getView()));
+        });
+
+        resume.addActionListener(pressEvent -> {
+            try {
+                session.resumeSavedGame();
+            } catch (IOException | JsonParseException e) {
+                JOptionPane.showMessageDialog(window, "The saved game could not be loaded.", "Resume", JOptionPane.ERROR_MESSAGE);
+                return;
+            }
             setContents(session.getView());
         });
     }
 
+    private JPanel generatingScreen(int size) {
+        JPanel generatingWindow = new JPanel(new GridLayout(2, 1, 10, 10));
+        generatingWindow.setBackground(Color.DARK_GRAY.darker().darker());
+
+        JLabel generatingTitle = new JLabel(String.format("Generating a %dx%d puzzle...", size, size));
+        generatingTitle.setFont(new Font("Sans Serif", Font.BOLD, 50));
+        generatingTitle.setForeground(Color.WHITE);
+        generatingTitle.setHorizontalAlignment(SwingConstants.CENTER);
+        generatingTitle.setVerticalAlignment(SwingConstants.BOTTOM);
+
+        JProgressBar progress = new JProgressBar();
+        progress.setIndeterminate(true);
+        JPanel progressPanel = new JPanel(new FlowLayout(FlowLayout.CENTER));
+        progressPanel.setOpaque(false);
+        progressPanel.add(progress);
+
+        generatingWindow.add(generatingTitle);
+        generatingWindow.add(progressPanel);
+        return generatingWindow;
+    }
+
     public void setContents(Container contents) {
         window.setContentPane(contents);
         window.revalidate();
@@ -6,8 +6,13 @@ import cas.se3xa3.bitsplease.view.themes.Theme;
 import cas.se3xa3.bitsplease.view.themes.WinterTheme;
 
 import java.awt.*;
+import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import javax.imageio.ImageIO;
 import javax.swing.*;
 
@@ -29,13 +34,16 @@ public class GameBoard extends JPanel {
 
     private Theme theme;
 
+    //Run once the board has been cleared, the button's own listeners run in no set order
+    private final List<ActionListener> resetListeners = new ArrayList<>();
+
 	public GameBoard(Board board) {
 
         this.board = board;
 
         mainPanel = new JPanel(new BorderLayout(100, 50));
         theme = DefaultTheme.getInstance();
-        boardPanel = new BoardView(board, theme);
+        boardPanel = BoardView.create(board, theme);
         buttonPanel = new JPanel();
 
         message = new JLabel(board.getSize() + " x " + board.getSize());
@@ -65,7 +73,7 @@ public class GameBoard extends JPanel {
 
         exit.addActionListener(e -> { exitClicked(); });
         reset.addActionListener(e -> {
-            resetClicked();
+            resetClicked(e);
         });
         settings.addActionListener(e -> {
             settingsClicked();
@@ -121,16 +129,67 @@ public class GameBoard extends JPanel {
         this.hint.addActionListener(listener);
     }
 
+    public void addExitButtonListener(ActionListener listener) {
+        this.exit.addActionListener(listener);
+    }
+
+    /**
+     * Call {@code listener} when the reset button is pressed, after the board has been cleared.
+     */
+    public void addResetButtonListener(ActionListener listener) {
+        resetListeners.add(listener);
+    }
+
+    /**
+     * Clear the tiles placed by the player as if the reset button was pressed.
+     */
+    public void reset() {
+        reset.doClick(0);
+    }
+
+    /**
+     * Call {@code listener} when Ctrl+Z is pressed in this window.
+     */
+    public void addUndoListener(ActionListener listener) {
+        bindKey("undo", KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK), listener);
+    }
+
+    /**
+     * Call {@code listener} when Ctrl+Y or Ctrl+Shift+Z is pressed in this window.
+     */
+    public void addRedoListener(ActionListener listener) {
+        bindKey("redo", KeyStroke.getKeyStroke(KeyEvent.VK_Y, InputEvent.CTRL_DOWN_MASK), listener);
+        bindKey("redo", KeyStroke.getKeyStroke(KeyEvent.VK_Z, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK), listener);
+    }
+
+    /**
+     * Call {@code listener} when Ctrl+S is pressed in this window.
+     */
+    public void addSaveListener(ActionListener listener) {
+        bindKey("save", KeyStroke.getKeyStroke(KeyEvent.VK_S, InputEvent.CTRL_DOWN_MASK), listener);
+    }
+
+    private void bindKey(String name, KeyStroke key, ActionListener listener) {
+        getInputMap(WHEN_IN_FOCUSED_WINDOW).put(key, name);
+        getActionMap().put(name, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent event) {
+                listener.actionPerformed(event);
+            }
+        });
+    }
+
     private void exitClicked() {
         JFrame currentFrame = (JFrame) SwingUtilities.getWindowAncestor(this);
         try { new Game(currentFrame); } catch(IOException ioe) {}
     }
 
-    private void resetClicked() {
+    private void resetClicked(ActionEvent event) {
         this.board.clearAllUnlockedTiles();
         boardPanel.clearHighlights();
         resetMessage();
         boardPanel.update();
+        for (ActionListener listener : resetListeners) listener.actionPerformed(event);
     }
 
     private void settingsClicked() {
@@ -0,0 +1,90 @@
+package cas.se3xa3.bitsplease.view;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.view.themes.Theme;
+
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Created on 17/10/2026.
+ * A {@link BoardView} laid out as a grid of {@link TileView}s, one per tile.
+ */
+public class TileGridView extends BoardView {
+
+    public TileGridView(Board board, Theme theme) {
+        super(board, theme);
+        int size = board.getSize();
+        this.setLayout(new GridLayout(size, size));
+        IntStream.range(0, size * size).forEach(coordData -> {
+            final int row = coordData / size;
+            final int col = coordData % size;
+            TileView view = new TileView(row, col, theme);
+            view.setColor(getColorFor(board.getTileAt(row, col)));
+            add(view);
+            //Tiles are updated one at a time, only a new theme changes every tile
+            addPropertyChangeListener("theme", view);
+            view.addMouseListener(new MouseAdapter() {
+                @Override
+                public void mousePressed(MouseEvent mouseEvent) {
+                    fireTileClicked(row, col);
+                }
+            });
+        });
+        update();
+    }
+
+    private Color getColorFor(Tile tile) {
+        switch (tile) {
+            case RED: return theme.redTileColor();
+            case BLUE: return theme.blueTileColor();
+            default: return theme.emptyTileColor();
+        }
+    }
+
+    private TileView tileAt(int row, int col) {
+        return (TileView) getComponent(row * board.getSize() + col);
+    }
+
+    @Override
+    public void update() {
+        for (Component component : getComponents()) {
+            TileView view = (TileView) component;
+            if (view.update(board)) view.repaint();
+        }
+    }
+
+    @Override
+    public void update(int row, int col) {
+        TileView view = tileAt(row, col);
+        if (view.update(board)) view.repaint();
+    }
+
+    @Override
+    protected void showHighlight(int row, int col, boolean highlighted) {
+        tileAt(row, col).setHighlighted(highlighted);
+    }
+
+    @Override
+    protected void showLocked(boolean displayLocked) {
+        for (Component component : getComponents()) ((TileView) component).setDisplayLocked(displayLocked);
+    }
+
+    @Override
+    protected void themeChanged(PropertyChangeEvent themeEvent) {
+        //Propagate
+        Arrays.stream(getPropertyChangeListeners(themeEvent.getPropertyName()))
+                .forEach(listener -> listener.propertyChange(themeEvent));
+    }
+
+    @Override
+    public void setBackground(Color background) {
+        super.setBackground(background);
+        Arrays.stream(this.getComponents()).forEach(comp -> comp.setBackground(background));
+    }
+}
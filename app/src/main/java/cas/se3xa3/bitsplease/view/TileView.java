@@ -9,7 +9,6 @@ import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
-import java.util.Set;
 
 /**
  * Created on 11/11/2015.
@@ -65,27 +64,47 @@ public class TileView extends JPanel implements PropertyChangeListener {
         }
     }
 
-    @Override
-    public void propertyChange(PropertyChangeEvent event) {
-        switch (event.getPropertyName()) {
-            case "board":
-                Board board = (Board) event.getNewValue();
-                switch (board.getTileAt(row(), col())) {
-                    case RED: this.color = theme.redTileColor();
-                        break;
-                    case BLUE: this.color = theme.blueTileColor();
-                        break;
-                    case EMPTY: this.color = theme.emptyTileColor();
-                        break;
-                }
-                if (board.isLocked(row(), col())) this.locked = true;
+    /**
+     * Read the state of this tile from {@code board}. The tile is not repainted.
+     * @param board the board this tile is on.
+     * @return true if the tile looks different and needs to be repainted.
+     */
+    public boolean update(Board board) {
+        Color oldColor = this.color;
+        boolean wasLocked = this.locked;
+        switch (board.getTileAt(row(), col())) {
+            case RED: this.color = theme.redTileColor();
                 break;
-            case "dispLocked":
-                this.dispLocked = (boolean) event.getNewValue();
+            case BLUE: this.color = theme.blueTileColor();
                 break;
-            case "highlights":
-                this.highlighted = ((Set) event.getNewValue()).contains(this.location);
+            case EMPTY: this.color = theme.emptyTileColor();
                 break;
+        }
+        this.locked = board.isLocked(row(), col());
+        return !this.color.equals(oldColor) || (dispLocked && this.locked != wasLocked);
+    }
+
+    /**
+     * Highlight this tile, repainting it if the highlight changed.
+     */
+    public void setHighlighted(boolean highlighted) {
+        if (this.highlighted == highlighted) return;
+        this.highlighted = highlighted;
+        repaint();
+    }
+
+    /**
+     * Mark this tile if it is locked, repainting it if the mark changed.
+     */
+    public void setDisplayLocked(boolean dispLocked) {
+        if (this.dispLocked == dispLocked) return;
+        this.dispLocked = dispLocked;
+        if (locked) repaint();
+    }
+
+    @Override
+    public void propertyChange(PropertyChangeEvent event) {
+        switch (event.getPropertyName()) {
             case "theme":
                 Theme newTheme = (Theme) event.getNewValue();
                 //Transform the colors
@@ -0,0 +1,57 @@
+package cas.se3xa3.bitsplease.controller;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import cas.se3xa3.bitsplease.model.generator.PuzzleId;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class BatchGeneratorFunctionalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testRun() throws Exception {
+        List<String> records = generate(folder.getRoot().toPath().resolve("first.txt"));
+        assertEquals(10, records.size());
+        BoardGenerator generator = new BoardGenerator();
+        int[] sizes = new int[2];
+        for (String record : records) {
+            //The puzzle id followed by every row
+            String[] fields = record.split(" ");
+            PuzzleId id = PuzzleId.parse(fields[0]);
+            assertEquals(id.getSize() + 1, fields.length);
+            Board board = generator.generate(id);
+            for (int row = 0; row < id.getSize(); row++) assertEquals(board.getSerializedRow(row), fields[row + 1]);
+            sizes[id.getSize() == 4 ? 0 : 1]++;
+        }
+        assertArrayEquals(new int[]{5, 5}, sizes);
+
+        //The same seed makes the same puzzles, only the order they complete in may change
+        List<String> again = generate(folder.getRoot().toPath().resolve("second.txt"));
+        Collections.sort(records);
+        Collections.sort(again);
+        assertEquals(records, again);
+    }
+
+    private static List<String> generate(Path file) throws Exception {
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            assertEquals(10, new BatchGenerator(5, new int[]{4, 6}, 2, 42).run(writer));
+        }
+        return new ArrayList<>(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,53 @@
+package cas.se3xa3.bitsplease.controller;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.SavedSession;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import org.junit.Test;
+
+import javax.swing.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class GameSessionFunctionalTest {
+
+    @Test
+    public void testHintPrefetchedAfterReset() throws Exception {
+        Board board = new BoardGenerator().generate(6, 1);
+        GameSession session = new GameSession();
+        SwingUtilities.invokeAndWait(() -> {
+            session.resumeGame(new SavedSession(board, 0));
+            //Play every free tile of the first row
+            for (int column = 0; column < board.getSize(); column++) {
+                if (!board.isLocked(0, column)) session.onTileClick(0, column);
+            }
+        });
+        awaitHint(session);
+
+        SwingUtilities.invokeAndWait(() -> {
+            long played = board.getVersion();
+            session.getView().reset();
+            assertNotEquals(played, board.getVersion());
+            for (int column = 0; column < board.getSize(); column++) {
+                if (!board.isLocked(0, column)) assertEquals(Tile.EMPTY, board.getTileAt(0, column));
+            }
+        });
+        //The hint of the cleared board is looked for without asking
+        awaitHint(session);
+    }
+
+    private static void awaitHint(GameSession session) throws Exception {
+        boolean[] ready = new boolean[1];
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            SwingUtilities.invokeAndWait(() -> ready[0] = session.getHints().hasHint());
+            if (ready[0]) return;
+            Thread.sleep(10);
+        }
+        fail("No hint was prefetched for the board");
+    }
+}
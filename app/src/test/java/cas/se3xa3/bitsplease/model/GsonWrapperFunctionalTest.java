@@ -0,0 +1,83 @@
+package cas.se3xa3.bitsplease.model;
+
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import com.google.gson.JsonParseException;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class GsonWrapperFunctionalTest {
+    private static final GsonWrapper GSON = new GsonWrapper(false);
+
+    @Test
+    public void testReadOldFormat() throws Exception {
+        Board board = GSON.getGson().fromJson(GSON.wrapReader(new StringReader(
+                "{\"size\" : 4, //Rows out of order\n" +
+                "\"contents\" : {\"1\" : [\"R\",\"e\",\"b\",\"e\"], \"0\" : [\"e\",\"e\",\"B\",\"r\"]," +
+                "\"3\" : [\"e\",\"e\",\"e\",\"e\"], \"2\" : [\"e\",\"e\",\"e\",\"e\"]}}")), Board.class);
+        assertEquals("eeBr", board.getSerializedRow(0));
+        assertEquals("Rebe", board.getSerializedRow(1));
+        assertTrue(board.isLocked(0, 2));
+        assertFalse(board.isLocked(0, 3));
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        Board board = new BoardGenerator().generate(8);
+        String json = GSON.getGson().toJson(board);
+        assertTrue(json.contains("\"" + board.getSerializedRow(0) + "\""));
+        assertEquals(board, GSON.getGson().fromJson(json, Board.class));
+
+        Coordinate coordinate = new Coordinate(12, 3);
+        assertEquals("\"(12,3)\"", GSON.getGson().toJson(coordinate));
+        assertEquals(coordinate, GSON.getGson().fromJson("\" ( 12 , 3 ) \"", Coordinate.class));
+
+        SavedSession session = new SavedSession(board, 61000);
+        StringWriter writer = new StringWriter();
+        GSON.writeSession(session, writer);
+        SavedSession read = GSON.readSession(new StringReader(writer.toString()));
+        assertEquals(board, read.getBoard());
+        assertEquals(61000, read.getElapsedMillis());
+    }
+
+    @Test
+    public void testStreamBoards() throws Exception {
+        Random random = new Random(7);
+        List<Board> boards = new ArrayList<>();
+        for (int count = 0; count < 5000; count++) {
+            Board board = new Board(2 + 2 * random.nextInt(Board.MAX_SIZE / 2));
+            for (int tile = 0; tile < board.getSize(); tile++) {
+                int row = random.nextInt(board.getSize());
+                int column = random.nextInt(board.getSize());
+                if (board.isLocked(row, column)) continue;
+                board.setTileAt(row, column, Tile.values()[random.nextInt(Tile.values().length)]);
+                board.setLockAt(row, column, random.nextBoolean());
+            }
+            boards.add(board);
+        }
+        StringWriter writer = new StringWriter();
+        GSON.writeBoards(boards, writer);
+        List<Board> read = new ArrayList<>();
+        GSON.readBoards(new StringReader(writer.toString()), read::add);
+        assertEquals(boards, read);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void testInvalidTile() throws Exception {
+        GSON.getGson().fromJson("{\"size\":2,\"rows\":[\"ee\",\"ex\"]}", Board.class);
+    }
+
+    @Test(expected = JsonParseException.class)
+    public void testInvalidCoordinate() throws Exception {
+        GSON.getGson().fromJson("\"(1;2)\"", Coordinate.class);
+    }
+}
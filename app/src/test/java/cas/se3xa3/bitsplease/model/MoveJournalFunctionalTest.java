@@ -0,0 +1,46 @@
+package cas.se3xa3.bitsplease.model;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class MoveJournalFunctionalTest {
+
+    @Test
+    public void testUndoRedo() throws Exception {
+        Board board = new Board(Board.MAX_SIZE);
+        MoveJournal journal = new MoveJournal();
+        assertEquals(MoveJournal.NO_MOVE, journal.undo(board));
+        //Enough moves to grow the journal
+        for (int step = 0; step < 200; step++) {
+            int row = step % Board.MAX_SIZE;
+            int column = Board.MAX_SIZE - 1 - step % Board.MAX_SIZE;
+            Tile oldState = board.getTileAt(row, column);
+            journal.record(row, column, oldState, board.stepTileAt(row, column));
+        }
+        Board done = board.copy();
+        while (journal.canUndo()) journal.undo(board);
+        assertEquals(new Board(Board.MAX_SIZE), board);
+        while (journal.canRedo()) journal.redo(board);
+        assertEquals(done, board);
+    }
+
+    @Test
+    public void testMoveForgetsRedo() throws Exception {
+        Board board = new Board(6);
+        MoveJournal journal = new MoveJournal();
+        journal.record(5, 4, Tile.EMPTY, board.stepTileAt(5, 4));
+        int move = journal.undo(board);
+        assertEquals(5, MoveJournal.getRow(move));
+        assertEquals(4, MoveJournal.getColumn(move));
+        assertEquals(Tile.EMPTY, MoveJournal.getOldState(move));
+        assertEquals(Tile.RED, MoveJournal.getNewState(move));
+        assertTrue(journal.canRedo());
+        journal.record(0, 0, Tile.EMPTY, board.stepTileAt(0, 0));
+        assertFalse(journal.canRedo());
+        assertEquals(MoveJournal.NO_MOVE, journal.redo(board));
+    }
+}
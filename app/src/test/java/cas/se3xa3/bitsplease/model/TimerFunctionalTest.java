@@ -0,0 +1,49 @@
+package cas.se3xa3.bitsplease.model;
+
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import org.junit.Test;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class TimerFunctionalTest {
+
+    @Test
+    public void testRestartFromSavedSession() throws Exception {
+        Timer played = new Timer();
+        played.restart(90000);
+        Board board = new BoardGenerator().generate(6);
+        long before = played.getElapsedTime();
+        assertTrue(before >= 90000);
+
+        //Save and load the game, then carry on timing it
+        GsonWrapper gson = new GsonWrapper(false);
+        StringWriter writer = new StringWriter();
+        gson.writeSession(new SavedSession(board.copy(), before), writer);
+        SavedSession resumed = gson.readSession(new StringReader(writer.toString()));
+        assertEquals(board, resumed.getBoard());
+        assertEquals(before, resumed.getElapsedMillis());
+
+        Timer timer = new Timer();
+        timer.restart(resumed.getElapsedMillis());
+        assertEquals(before, timer.getTotalTime());
+        long elapsed = timer.getElapsedTime();
+        assertTrue(elapsed >= before && elapsed < before + 60000);
+        timer.markStop();
+        assertTrue(timer.getTotalTime() >= elapsed);
+    }
+
+    @Test
+    public void testRestart() throws Exception {
+        Timer timer = new Timer();
+        timer.restart(5000);
+        assertEquals(5000, timer.getTotalTime());
+        timer.restart();
+        assertEquals(0, timer.getTotalTime());
+    }
+}
@@ -0,0 +1,76 @@
+package cas.se3xa3.bitsplease.model.checker;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class LineIndexFunctionalTest {
+
+    @Test
+    public void testDuplicateRows() throws Exception {
+        Board board = new Board(Board.MAX_SIZE);
+        LineIndex index = new LineIndex();
+        for (int column = 0; column < board.getSize(); column++) {
+            Tile tile = column % 2 == 0 ? Tile.RED : Tile.BLUE;
+            board.setTileAt(5, column, tile);
+            board.setTileAt(60, column, tile);
+            //Partial rows are never identical
+            if (column > 0) {
+                board.setTileAt(1, column, tile);
+                board.setTileAt(2, column, tile);
+            }
+        }
+        assertEquals((long) 5 << 32 | 60, index.duplicateRows(board, 0));
+        assertEquals((long) 60 << 32 | 5, index.duplicateRows(board, 30));
+        assertEquals(LineIndex.NO_DUPLICATE, index.duplicateColumns(board, 0));
+        assertTrue(SimpleRules.NO_IDENTICAL_ROWS_OR_COLUMNS.holds(new Board(6)));
+    }
+
+    @Test
+    public void testAreUnique() throws Exception {
+        LineIndex index = new LineIndex();
+        assertTrue(index.areUnique(new long[]{0L, -1L, 1L << 63, 3L}, 4));
+        assertFalse(index.areUnique(new long[]{0L, 7L, 3L, 7L}, 4));
+        assertTrue(index.areUnique(new long[]{0L, 7L, 3L, 7L}, 3));
+    }
+
+    @Test
+    public void testCountSignatures() throws Exception {
+        LineIndex index = new LineIndex();
+        Map<Long, Integer> expected = new HashMap<>();
+        Random random = new Random(3);
+        long[] signatures = new long[Board.MAX_SIZE];
+        for (int signature = 0; signature < signatures.length; signature++) signatures[signature] = random.nextLong();
+        for (int step = 0; step < 100000; step++) {
+            long signature = signatures[random.nextInt(signatures.length)];
+            int count = expected.getOrDefault(signature, 0);
+            if (count > 0 && random.nextBoolean()) {
+                assertEquals(count - 1, index.decrement(signature));
+                expected.put(signature, count - 1);
+            } else {
+                assertEquals(count + 1, index.increment(signature));
+                expected.put(signature, count + 1);
+            }
+            long other = signatures[random.nextInt(signatures.length)];
+            assertEquals((int) expected.getOrDefault(other, 0), index.count(other));
+        }
+        index.clear();
+        assertEquals(0, index.count(signatures[0]));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testDecrementMissing() throws Exception {
+        LineIndex index = new LineIndex();
+        index.increment(1L);
+        index.decrement(2L);
+    }
+}
@@ -0,0 +1,81 @@
+package cas.se3xa3.bitsplease.model.checker;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Coordinate;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.model.generator.SolvedBoardGenerator;
+import org.junit.Assume;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class MaskRulesFunctionalTest {
+
+    @Test
+    public void testRunAtEndOfLine() throws Exception {
+        Board board = new Board(6);
+        board.setTileAt(2, 3, Tile.BLUE);
+        board.setTileAt(2, 4, Tile.BLUE);
+        board.setTileAt(2, 5, Tile.BLUE);
+        Result result = MaskRules.MAX_2_CONSECUTIVE_ROW.holds(board);
+        assertEquals(Result.State.VIOLATES, result.getResultState());
+        assertEquals("Row 3: Too many consecutive blue in a row", result.getMessage());
+        assertEquals(new HashSet<>(Arrays.asList(new Coordinate(2, 3), new Coordinate(2, 4), new Coordinate(2, 5))),
+                result.getErrorCoords());
+    }
+
+    @Test
+    public void testIdenticalColumns() throws Exception {
+        Board board = new Board(4);
+        for (int row = 0; row < 4; row++) {
+            Tile tile = row % 2 == 0 ? Tile.RED : Tile.BLUE;
+            board.setTileAt(row, 1, tile);
+            board.setTileAt(row, 2, tile);
+        }
+        Result result = MaskRules.NO_IDENTICAL_COLUMNS.holds(board);
+        assertEquals(Result.State.VIOLATES, result.getResultState());
+        assertEquals(8, result.getErrorCoords().size());
+        assertTrue(result.getErrorCoords().contains(new Coordinate(3, 1)));
+        assertTrue(result.getErrorCoords().contains(new Coordinate(0, 2)));
+    }
+
+    @Test
+    public void testValidBoardSharesResult() throws Exception {
+        Board board = new Board(4);
+        BoardChecker checker = new BoardChecker(board);
+        Result result = checker.isValid();
+        assertEquals(Result.State.SATISFIES, result.getResultState());
+        assertNull(result.getErrorCoords());
+        assertSame(result, checker.isValid());
+    }
+
+    @Test
+    public void testValidBoardAllocatesNothing() throws Exception {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        Assume.assumeTrue(threads instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean allocations = (com.sun.management.ThreadMXBean) threads;
+        Assume.assumeTrue(allocations.isThreadAllocatedMemorySupported() && allocations.isThreadAllocatedMemoryEnabled());
+        Board board = new SolvedBoardGenerator(8).generateBoard(3);
+        Rule[] rules = {MaskRules.NO_EMPTY_TILES, MaskRules.EQUAL_TILE_COUNT_ROW, MaskRules.EQUAL_TILE_COUNT_COLUMN,
+                MaskRules.MAX_2_CONSECUTIVE_ROW, MaskRules.MAX_2_CONSECUTIVE_COLUMN,
+                MaskRules.NO_IDENTICAL_ROWS, MaskRules.NO_IDENTICAL_COLUMNS};
+        for (Rule rule : rules) assertEquals(Result.State.SATISFIES, rule.holds(board).getResultState());
+        //Warm up first, the line index of the thread and the jvm's own bookkeeping allocate once
+        for (int check = 0; check < 5000; check++) {
+            for (Rule rule : rules) rule.holds(board);
+        }
+        long thread = Thread.currentThread().getId();
+        long before = allocations.getThreadAllocatedBytes(thread);
+        for (int check = 0; check < 1000; check++) {
+            for (Rule rule : rules) rule.holds(board);
+        }
+        assertEquals(0, allocations.getThreadAllocatedBytes(thread) - before);
+    }
+}
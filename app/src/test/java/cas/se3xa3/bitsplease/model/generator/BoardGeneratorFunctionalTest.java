@@ -3,12 +3,14 @@ package cas.se3xa3.bitsplease.model.generator;
 import cas.se3xa3.bitsplease.model.Board;
 import cas.se3xa3.bitsplease.model.checker.BoardChecker;
 import cas.se3xa3.bitsplease.model.checker.Result;
-import cas.se3xa3.bitsplease.model.solver.BoardSolver;
+import cas.se3xa3.bitsplease.model.solver.ConstraintSolver;
+import cas.se3xa3.bitsplease.model.solver.Solution;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 
 import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -40,8 +42,16 @@ public class BoardGeneratorFunctionalTest {
     @Test
     public void testGenerate() throws Exception {
         System.out.printf("Testing size %d\n", size);
+        checkPuzzle(generator.generate(size));
+    }
+
+    @Test
+    public void testGenerateParallel() throws Exception {
+        System.out.printf("Testing size %d in parallel\n", size);
+        checkPuzzle(generator.generate(size, ForkJoinPool.commonPool()));
+    }
 
-        Board board = generator.generate(size);
+    private void checkPuzzle(Board board) {
         assertEquals("Generated board should be of size "+size+" but was "+board.getSize(),
                 size,
                 board.getSize());
@@ -51,8 +61,11 @@ public class BoardGeneratorFunctionalTest {
                 checker.isValid().getResultState(),
                 Result.State.SATISFIES);
 
-        BoardSolver solver = new BoardSolver(board);
-        assertTrue("Solver could not solve the generated board.",
-                solver.tryToSolve());
+        Solution solution = new ConstraintSolver(size).solve(board);
+        assertTrue("Generated board does not have exactly one solution.",
+                solution.isUnique());
+        assertEquals("Solution of the generated board is not valid.",
+                Result.State.SATISFIES,
+                new BoardChecker(solution.getBoard()).isSolved().getResultState());
     }
 }
\ No newline at end of file
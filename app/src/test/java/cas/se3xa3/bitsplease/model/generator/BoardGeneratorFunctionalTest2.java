@@ -2,14 +2,22 @@ package cas.se3xa3.bitsplease.model.generator;
 
 import cas.se3xa3.bitsplease.model.Board;
 import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.model.checker.BoardChecker;
+import cas.se3xa3.bitsplease.model.checker.Result;
 import cas.se3xa3.bitsplease.model.solver.BoardSolver;
+import cas.se3xa3.bitsplease.model.solver.ConstraintSolver;
+import cas.se3xa3.bitsplease.model.solver.Technique;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.IntStream;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 /**
@@ -39,6 +47,82 @@ public class BoardGeneratorFunctionalTest2 {
         }
     }
 
+    @Test
+    public void testSeeded() {
+        for (int size = 4; size <= 12; size += 2) {
+            Board board = generator.generate(size, 42L);
+            assertEquals("Same seed gave a different board.", board, new BoardGenerator().generate(size, 42L));
+            assertEquals("Parallel generation gave a different board.", board, generator.generate(size, 42L, ForkJoinPool.commonPool()));
+            assertEquals(board, generator.generate(new PuzzleId(size, 42L)));
+        }
+        assertEquals(new SolvedBoardGenerator(10).generateBoard(7L), new SolvedBoardGenerator(10).generateBoard(7L));
+    }
+
+    @Test
+    public void testSeededSolvedBoardsAreSpread() {
+        //There are 72 solved 4x4 boards, seeds should reach all of them about as often
+        SolvedBoardGenerator generator = new SolvedBoardGenerator(4);
+        Map<Board, Integer> counts = new HashMap<>();
+        int seeds = 72 * 200;
+        for (long seed = 0; seed < seeds; seed++) counts.merge(generator.generateBoard(seed), 1, Integer::sum);
+        assertEquals(72, counts.size());
+        for (int count : counts.values()) assertTrue("Uneven count " + count, count > 200 / 3 && count < 200 * 2);
+    }
+
+    @Test
+    public void testAcceptedSizes() {
+        for (int size = -2; size <= Board.MAX_SIZE + 2; size++)
+            assertEquals("Size " + size, size >= 4 && size <= Board.MAX_SIZE && size % 2 == 0, generator.isAcceptedSize(size));
+    }
+
+    @Test
+    public void testLargeBoards() {
+        for (int size : new int[]{22, 40, Board.MAX_SIZE}) {
+            Board board = generator.generate(size, 42L);
+            assertEquals(size, board.getSize());
+            Board solved = new ConstraintSolver(size).solveWithin(board, 0);
+            assertTrue("Board of size " + size + " can't be solved without guessing.", solved != null);
+            assertEquals(Result.State.SATISFIES, new BoardChecker(solved).isSolved().getResultState());
+        }
+    }
+
+    @Test
+    public void testDifficulty() {
+        ConstraintSolver solver = new ConstraintSolver(6);
+        for (Difficulty difficulty : Difficulty.values()) {
+            Board board = generator.generate(6, difficulty, 10000);
+            assertEquals(difficulty, Difficulty.of(solver.trace(board)));
+        }
+        //Large boards are never harder than asked for
+        Board board = generator.generate(16, Difficulty.EASY, 0);
+        assertTrue(new ConstraintSolver(16).trace(board).getHardest().isAtMost(Technique.COLUMN_COUNT));
+    }
+
+    @Test
+    public void testSeededDifficulty() {
+        ConstraintSolver solver = new ConstraintSolver(6);
+        for (Difficulty difficulty : Difficulty.values()) {
+            PuzzleId id = new PuzzleId(6, difficulty.ordinal() * 31L);
+            Board board = generator.generate(id.getSize(), id.getSeed(), difficulty, 10000);
+            assertEquals(difficulty, Difficulty.of(solver.trace(board)));
+            //A graded board can be made again from its id
+            assertEquals(board, new BoardGenerator().generate(id.getSize(), id.getSeed(), difficulty, 10000));
+        }
+    }
+
+    @Test
+    public void testPuzzleId() {
+        for (long seed : new long[]{0L, 1L, -1L, Long.MIN_VALUE, 1234567890123L}) {
+            PuzzleId id = new PuzzleId(10, seed);
+            assertEquals(id, PuzzleId.parse(id.toString()));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPuzzleId() {
+        PuzzleId.parse("10-");
+    }
+
     /*
     @Test
     public void testMinimal() {
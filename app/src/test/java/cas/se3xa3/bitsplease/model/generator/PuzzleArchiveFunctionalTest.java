@@ -0,0 +1,62 @@
+package cas.se3xa3.bitsplease.model.generator;
+
+import cas.se3xa3.bitsplease.model.Board;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class PuzzleArchiveFunctionalTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        BoardGenerator generator = new BoardGenerator();
+        Board[] boards = new Board[12];
+        Path file = folder.getRoot().toPath().resolve("puzzles.bin");
+        try (PuzzleArchive.Writer writer = new PuzzleArchive.Writer(file)) {
+            for (int puzzle = 0; puzzle < boards.length; puzzle++) {
+                //Groups are interleaved, each one is still stored in a single run
+                int size = new int[]{4, 6, Board.MAX_SIZE}[puzzle % 3];
+                boards[puzzle] = generator.generate(size, puzzle);
+                writer.add(boards[puzzle], puzzle % 2 == 0 ? Difficulty.EASY : Difficulty.HARD);
+            }
+        }
+        try (PuzzleArchive archive = PuzzleArchive.open(file)) {
+            assertEquals(2, archive.getCount(4, Difficulty.EASY));
+            assertEquals(2, archive.getCount(Board.MAX_SIZE, Difficulty.HARD));
+            assertEquals(0, archive.getCount(8, Difficulty.EASY));
+            assertEquals(boards[0], archive.get(4, Difficulty.EASY, 0));
+            assertEquals(boards[6], archive.get(4, Difficulty.EASY, 1));
+            assertEquals(boards[11], archive.get(Board.MAX_SIZE, Difficulty.HARD, 1));
+            assertEquals(boards[4], archive.get(6, Difficulty.EASY, 0));
+        }
+        //Only the archive is left
+        assertEquals(1, folder.getRoot().list().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingPuzzle() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("empty.bin");
+        new PuzzleArchive.Writer(file).close();
+        try (PuzzleArchive archive = PuzzleArchive.open(file)) {
+            archive.get(4, Difficulty.EASY, 0);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testNotAnArchive() throws Exception {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "Not an archive at all".getBytes());
+        PuzzleArchive.open(file);
+    }
+}
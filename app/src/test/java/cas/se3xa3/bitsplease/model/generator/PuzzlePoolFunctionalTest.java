@@ -0,0 +1,86 @@
+package cas.se3xa3.bitsplease.model.generator;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.solver.ConstraintSolver;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class PuzzlePoolFunctionalTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidSize() {
+        new PuzzlePool(3);
+    }
+
+    @Test
+    public void testFill() throws InterruptedException {
+        PuzzlePool pool = new PuzzlePool(2, 2, new int[]{4, 6});
+        try {
+            long deadline = System.currentTimeMillis() + 10000;
+            while ((pool.getFillLevel(4) < 2 || pool.getFillLevel(6) < 2) && System.currentTimeMillis() < deadline)
+                Thread.sleep(10);
+            assertEquals(2, pool.getFillLevel(4));
+            assertEquals(2, pool.getFillLevel(6));
+            assertTrue(pool.getGeneratedCount(4) >= 2);
+            assertTrue(pool.getAverageGenerationTime(4) > 0);
+            assertTrue(pool.getMaxGenerationTime(4) >= pool.getAverageGenerationTime(4));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testTake() {
+        PuzzlePool pool = new PuzzlePool(1, 1, new int[]{6});
+        try {
+            for (int game = 0; game < 4; game++) {
+                Board board = pool.take(6);
+                assertEquals(6, board.getSize());
+                assertTrue("Puzzle does not have a unique solution", new ConstraintSolver(6).solve(board).isUnique());
+            }
+            assertEquals(4, pool.getHitCount() + pool.getMissCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testShutdown() {
+        PuzzlePool pool = new PuzzlePool(1, 1, new int[]{4});
+        pool.shutdown();
+        assertEquals(4, pool.take(4).getSize());
+    }
+
+    @Test
+    public void testConcurrentTakes() throws InterruptedException {
+        PuzzlePool pool = new PuzzlePool(2, 2, new int[]{4});
+        try {
+            List<Thread> players = new ArrayList<>();
+            for (int player = 0; player < 8; player++) {
+                Thread thread = new Thread(() -> {
+                    for (int game = 0; game < 50; game++) pool.take(4);
+                });
+                thread.start();
+                players.add(thread);
+            }
+            for (Thread thread : players) thread.join();
+            long deadline = System.currentTimeMillis() + 10000;
+            while (pool.getFillLevel(4) < 2 && System.currentTimeMillis() < deadline)
+                Thread.sleep(10);
+            assertEquals(2, pool.getFillLevel(4));
+            assertEquals(400, pool.getHitCount() + pool.getMissCount());
+            //Every puzzle generated was either taken or is waiting in the pool, none were dropped
+            assertEquals(400 + 2, pool.getGeneratedCount(4));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
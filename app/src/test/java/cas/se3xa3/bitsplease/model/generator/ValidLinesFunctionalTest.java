@@ -0,0 +1,62 @@
+package cas.se3xa3.bitsplease.model.generator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class ValidLinesFunctionalTest {
+
+    @Test
+    public void testCount() {
+        int[] sizes = {4, 6, 8, 10, 12, 14, 16};
+        int[] counts = {6, 14, 34, 84, 208, 518, 1296};
+        for (int i = 0; i < sizes.length; i++) {
+            assertEquals("Wrong number of lines of size " + sizes[i], counts[i], ValidLines.forSize(sizes[i]).count());
+        }
+    }
+
+    @Test
+    public void testShared() {
+        assertSame(ValidLines.forSize(8), ValidLines.forSize(8));
+    }
+
+    @Test
+    public void testCompatibleWith() {
+        ValidLines lines = ValidLines.forSize(8);
+        long twoBefore = 0b00110011;
+        long before = 0b01010101;
+        int[] compatible = new int[lines.count()];
+        int count = lines.compatibleWith(twoBefore, before, compatible);
+        int next = 0;
+        for (int i = 0; i < lines.count(); i++) {
+            long line = lines.get(i);
+            boolean expected = (line & before & twoBefore) == 0 && (0xFF & ~(line | before | twoBefore)) == 0;
+            if (next < count && compatible[next] == i) {
+                assertTrue(expected);
+                next++;
+            } else {
+                assertTrue(!expected);
+            }
+        }
+    }
+
+    @Test
+    public void testCompatibleWithFirstLines() {
+        ValidLines lines = ValidLines.forSize(8);
+        int[] compatible = new int[lines.count()];
+        //Nothing above the first two lines to be compatible with
+        assertEquals(lines.count(), lines.compatibleWith(-1, -1, compatible));
+        assertEquals(lines.count(), lines.compatibleWith(-1, 0b01010101, compatible));
+        for (int i = 0; i < lines.count(); i++) assertEquals(i, compatible[i]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooLarge() {
+        ValidLines.forSize(ValidLines.MAX_SIZE + 1);
+    }
+}
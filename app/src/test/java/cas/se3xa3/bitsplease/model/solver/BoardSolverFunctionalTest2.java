@@ -2,9 +2,11 @@ package cas.se3xa3.bitsplease.model.solver;
 
 import cas.se3xa3.bitsplease.model.Board;
 import cas.se3xa3.bitsplease.model.GsonWrapper;
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
 import org.junit.Test;
 import static cas.se3xa3.bitsplease.model.Tile.*;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 /**
  * Created on 25/10/2015.
@@ -32,4 +34,34 @@ public class BoardSolverFunctionalTest2 {
         for (int[] coords : reds)
             assertEquals(RED, testBoard.getTileAt(coords[0], coords[1]));
     }
+
+    @Test
+    public void testPropagateAllMatchesTryToSolve() throws Exception {
+        BoardGenerator generator = new BoardGenerator();
+        for (int size = 4; size <= 12; size += 2) {
+            for (long seed = 0; seed < 5; seed++) {
+                Board puzzle = generator.generate(size, seed);
+                Board solved = puzzle.copy();
+                boolean full = new BoardSolver(solved).tryToSolve();
+                Board propagated = puzzle.copy();
+                int[] placements = new BoardSolver(propagated).propagateAll();
+                assertEquals(solved, propagated);
+                assertEquals(full, propagated.isFull());
+                int placed = 0;
+                for (int row = 0; row < size; row++) {
+                    for (int col = 0; col < size; col++) {
+                        if (puzzle.getTileAt(row, col) != propagated.getTileAt(row, col)) placed++;
+                    }
+                }
+                assertEquals(placed, placements.length);
+                for (int placement : placements) {
+                    int row = BoardSolver.getRow(placement);
+                    int col = BoardSolver.getColumn(placement);
+                    assertEquals(EMPTY, puzzle.getTileAt(row, col));
+                    assertEquals(propagated.getTileAt(row, col), BoardSolver.getTile(placement));
+                    assertTrue(BoardSolver.getTechnique(placement).isAtMost(Technique.UNIQUE_COLUMN));
+                }
+            }
+        }
+    }
 }
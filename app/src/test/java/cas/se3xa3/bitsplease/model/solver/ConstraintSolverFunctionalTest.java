@@ -0,0 +1,76 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.GsonWrapper;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.model.checker.BoardChecker;
+import cas.se3xa3.bitsplease.model.checker.Result;
+import com.google.gson.stream.JsonReader;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Arrays;
+import java.util.Collection;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ * Runs the constraint solver against the {@link BoardSolver} functional test boards.
+ */
+@RunWith(Parameterized.class)
+public class ConstraintSolverFunctionalTest {
+    private static final GsonWrapper GSON = new GsonWrapper(true);
+
+    private Board testBoard;
+    private Board expectedBoard;
+
+    public ConstraintSolverFunctionalTest(Board testBoard, Board expectedBoard) {
+        this.testBoard = testBoard;
+        this.expectedBoard = expectedBoard;
+    }
+
+    @Parameterized.Parameters
+    public static Collection<Object[]> getTestBoards() throws IOException {
+        GsonWrapper wrapper = new GsonWrapper(false);
+        JsonReader reader = wrapper.wrapReader(new BufferedReader(new InputStreamReader(
+                ConstraintSolverFunctionalTest.class.getClassLoader().getResourceAsStream("solver/BoardSolverFunctionalTestParams.json")
+        )));
+        try {
+            Object[][] params = wrapper.getGson().fromJson(reader, Board[][].class);
+            return Arrays.asList(params);
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void testSolveBoard() throws Exception {
+        Solution solution = new ConstraintSolver(testBoard.getSize()).solve(testBoard);
+        System.out.println("--");
+        System.out.println(solution.getSolutionCount());
+        if (solution.getBoard() != null) System.out.println(GSON.getGson().toJson(solution.getBoard()));
+
+        if (new BoardChecker(expectedBoard).isSolved().getResultState() == Result.State.SATISFIES) {
+            //The greedy solver found the only solution
+            assertTrue(solution.isUnique());
+            assertEquals(expectedBoard, solution.getBoard());
+        } else if (expectedBoard.isFull()) {
+            //A full but invalid board
+            assertFalse(solution.isSolvable());
+        } else {
+            //Every tile the greedy solver placed must be in the solution
+            assertTrue(solution.isSolvable());
+            for (int row = 0; row < expectedBoard.getSize(); row++) {
+                for (int column = 0; column < expectedBoard.getSize(); column++) {
+                    Tile expected = expectedBoard.getTileAt(row, column);
+                    if (expected != Tile.EMPTY) assertEquals(expected, solution.getBoard().getTileAt(row, column));
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.model.checker.BoardChecker;
+import cas.se3xa3.bitsplease.model.checker.Result;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class ConstraintSolverFunctionalTest2 {
+
+    @Test
+    public void testEmptyBoardHasManySolutions() {
+        Solution solution = new ConstraintSolver(6).solve(new Board(6));
+        assertEquals(2, solution.getSolutionCount());
+        assertEquals(Result.State.SATISFIES, new BoardChecker(solution.getBoard()).isSolved().getResultState());
+    }
+
+    @Test
+    public void testInvalidBoardHasNoSolution() {
+        Board board = new Board(4);
+        board.setTileAt(0, 0, Tile.RED);
+        board.setTileAt(0, 1, Tile.RED);
+        board.setTileAt(0, 2, Tile.RED);
+        Solution solution = new ConstraintSolver(4).solve(board);
+        assertFalse(solution.isSolvable());
+        assertNull(solution.getBoard());
+    }
+
+    @Test
+    public void testCountAllSolutions() {
+        //There are 72 solved 4x4 boards
+        assertEquals(72, new ConstraintSolver(4).countSolutions(new Board(4), Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testIsForcedAgreesWithCount() {
+        ConstraintSolver solver = new ConstraintSolver(8);
+        Board solved = solver.solve(new Board(8)).getBoard();
+        Board board = solved.copy();
+        Random random = new Random(7);
+        for (int attempt = 0; attempt < 64; attempt++) {
+            int row = random.nextInt(8);
+            int column = random.nextInt(8);
+            if (board.getTileAt(row, column) == Tile.EMPTY) continue;
+            board.setTileAt(row, column, Tile.EMPTY);
+            //The board had a single solution, it still does only if the tile is forced
+            boolean unique = solver.countSolutions(board, 2) == 1;
+            assertEquals(unique, solver.isForced(board, row, column, solved.getTileAt(row, column)));
+            if (!unique) board.setTileAt(row, column, solved.getTileAt(row, column));
+        }
+    }
+
+    @Test
+    public void testTraceCountsEveryPlacement() {
+        ConstraintSolver solver = new ConstraintSolver(6);
+        SolveTrace trace = solver.trace(new Board(6));
+        assertEquals(36, trace.getPlacements());
+        //Nothing follows from an empty board but a guess
+        assertTrue(trace.getCount(Technique.SEARCH) > 0);
+        Board board = solver.solve(new Board(6)).getBoard();
+        board.setTileAt(2, 3, Tile.EMPTY);
+        trace = solver.trace(board);
+        assertEquals(1, trace.getPlacements());
+        assertTrue(trace.getHardest().isAtMost(Technique.COLUMN_COUNT));
+    }
+
+    @Test
+    public void testTraceInvalidBoard() {
+        Board board = new Board(4);
+        board.setTileAt(0, 0, Tile.RED);
+        board.setTileAt(0, 1, Tile.RED);
+        board.setTileAt(0, 2, Tile.RED);
+        assertNull(new ConstraintSolver(4).trace(board));
+    }
+}
@@ -0,0 +1,67 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.Tile;
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import cas.se3xa3.bitsplease.model.generator.Difficulty;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class SolutionCounterFunctionalTest {
+
+    @Test
+    public void testCountAllSolutions() {
+        for (int size = 4; size <= 6; size += 2) {
+            assertEquals("Counters disagree on the empty board of size " + size,
+                    new ConstraintSolver(size).countSolutions(new Board(size), Integer.MAX_VALUE),
+                    new SolutionCounter(size).countSolutions(new Board(size), Integer.MAX_VALUE));
+        }
+    }
+
+    @Test
+    public void testLimit() {
+        assertEquals(5, new SolutionCounter(8).countSolutions(new Board(8), 5));
+    }
+
+    @Test
+    public void testMatchesConstraintSolver() {
+        BoardGenerator generator = new BoardGenerator();
+        Random random = new Random(42);
+        for (int size = 4; size <= 12; size += 2) {
+            SolutionCounter counter = new SolutionCounter(size);
+            ConstraintSolver solver = new ConstraintSolver(size);
+            Board puzzle = generator.generate(size);
+            puzzle.setAllLocks(false);
+            assertEquals(1, counter.countSolutions(puzzle, 2));
+            //Take some more tiles out and make sure both agree
+            for (int removal = 0; removal < size; removal++) {
+                puzzle.setTileAt(random.nextInt(size), random.nextInt(size), Tile.EMPTY);
+                assertEquals(solver.countSolutions(puzzle, 10), counter.countSolutions(puzzle, 10));
+            }
+        }
+    }
+
+    @Test
+    public void testGeneratedPuzzlesAreUnique() {
+        BoardGenerator generator = new BoardGenerator();
+        for (int size = 4; size <= 10; size += 2) {
+            SolutionCounter counter = new SolutionCounter(size);
+            ConstraintSolver solver = new ConstraintSolver(size);
+            for (long seed = 0; seed < 10; seed++) {
+                Board puzzle = generator.generate(size, seed);
+                assertEquals("Seed " + seed + " of size " + size, 1, counter.countSolutions(puzzle, 2));
+                assertEquals(solver.countSolutions(puzzle, 2), counter.countSolutions(puzzle, 2));
+            }
+            for (Difficulty difficulty : Difficulty.values()) {
+                Board puzzle = generator.generate(size, difficulty, 200);
+                assertEquals(difficulty + " of size " + size, 1, counter.countSolutions(puzzle, 2));
+            }
+        }
+    }
+}
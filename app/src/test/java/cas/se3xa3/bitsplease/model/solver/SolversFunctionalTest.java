@@ -0,0 +1,48 @@
+package cas.se3xa3.bitsplease.model.solver;
+
+import cas.se3xa3.bitsplease.model.Board;
+import cas.se3xa3.bitsplease.model.generator.BoardGenerator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Created on 17/10/2026.
+ */
+public class SolversFunctionalTest {
+
+    @Test
+    public void testSolveAllMatchesSolver() throws Exception {
+        BoardGenerator generator = new BoardGenerator();
+        List<Board> boards = new ArrayList<>();
+        for (int size = 4; size <= 10; size += 2) {
+            for (long seed = 0; seed < 10; seed++) boards.add(generator.generate(size, seed));
+        }
+        //Every board many times so several threads solve the same boards at once
+        List<Board> repeated = IntStream.range(0, 1000)
+                .mapToObj(i -> boards.get(i % boards.size()))
+                .collect(Collectors.toList());
+        List<Board> copies = repeated.stream().map(Board::copy).collect(Collectors.toList());
+        List<Solution> solutions = Solvers.solveAll(repeated.stream()).collect(Collectors.toList());
+        assertEquals(repeated.size(), solutions.size());
+        for (int i = 0; i < repeated.size(); i++) {
+            Board board = repeated.get(i);
+            assertEquals(copies.get(i), board);
+            Solution expected = new ConstraintSolver(board.getSize()).solve(board);
+            assertEquals(expected.getSolutionCount(), solutions.get(i).getSolutionCount());
+            assertEquals(expected.getBoard(), solutions.get(i).getBoard());
+        }
+    }
+
+    @Test
+    public void testSolveAnySize() throws Exception {
+        assertEquals(2, Solvers.solve(new Board(6)).getSolutionCount());
+        assertEquals(72, Solvers.solve(new Board(4), Integer.MAX_VALUE).getSolutionCount());
+        assertTrue(Solvers.solve(new Board(0)).isUnique());
+    }
+}